@@ -2,17 +2,26 @@ package com.gui;
 
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JMenu;
@@ -29,35 +38,58 @@ import javax.swing.RowSorter;
 import javax.swing.SortOrder;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.UIManager;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 
 import com.gui.contsants.LanguagesConstant;
+import com.gui.contsants.SettingsConstant;
+import com.gui.core.BundleIndex;
+import com.gui.core.KeyCompleteness;
+import com.gui.core.LanguageAudit;
+import com.gui.core.ScanIndex;
 import com.gui.core.TranslationCheck;
+import com.gui.core.TranslationWatcher;
+import com.gui.core.WriteBehindBuffer;
 import com.gui.manager.LanguageManager;
+import com.gui.manager.LoggingManager;
 import com.gui.manager.SettingsManager;
 import com.gui.manager.TableManager;
 import com.gui.manager.TranslationManager;
+import com.gui.model.AuditFinding;
+import com.gui.model.CompletenessFinding;
 import com.gui.model.LanguageProperties;
+import com.gui.model.SearchQuery;
+import com.gui.model.TranslationTableModel;
+import com.gui.services.DeepLService;
+import com.gui.services.QuotaTracker;
+import com.gui.services.TranslationMemory;
 import com.gui.ui.EditTranslationsDialog;
+import com.gui.ui.FileWarningDialog;
 import com.gui.ui.FilterDialog;
+import com.gui.ui.KeyCompletenessDialog;
+import com.gui.ui.LanguageAuditDialog;
 import com.gui.ui.LanguageSettingsDialog;
 import com.gui.ui.SettingsDialog;
 import com.gui.ui.UIComponentFactory;
 
 public class TranslationCheckerApp extends JFrame {
 
-	public DefaultTableModel getTableModel() {
+	public TranslationTableModel getTableModel() {
 		return tableModel;
 	}
 
 	private static final Logger logger = Logger.getLogger(TranslationCheckerApp.class.getName());
 	private JTable table;
-	private DefaultTableModel tableModel;
+	private TranslationTableModel tableModel;
 	private JProgressBar progressBar;
 	private JLabel statusLabel;
+	private JLabel translationMemoryLabel;
+	private JLabel quotaLabel;
 	private SettingsManager settings;
+	private TranslationWatcher translationWatcher;
+	private TranslationCheck translationCheck;
 	SettingsDialog settingsDialog;
 
 	public TranslationCheckerApp() {
@@ -70,9 +102,17 @@ public class TranslationCheckerApp extends JFrame {
 		
 		initLookAndFeel();
 		initComponents();
+		initWriteBehind();
+		initTranslationMemory();
+		initQuotaTracker();
 	}
 
 	public static void main(String[] args) {
+		// With arguments the check runs headless, see TranslationCheckerCli
+		if (args.length > 0) {
+			System.exit(TranslationCheckerCli.run(args));
+		}
+		LoggingManager.getInstance().configure(new SettingsManager().getSettings());
 		SwingUtilities.invokeLater(() -> {
 			TranslationCheckerApp gui = new TranslationCheckerApp();
 			gui.setVisible(true);
@@ -83,7 +123,97 @@ public class TranslationCheckerApp extends JFrame {
 		try {
 			UIManager.setLookAndFeel(new com.formdev.flatlaf.FlatLightLaf());  // Modernes FlatLaf Look and Feel
 		} catch (Exception e) {
-			e.printStackTrace();
+			logger.log(Level.WARNING, "Could not set look and feel", e);
+		}
+	}
+
+	/**
+	 * Configures the buffer for key updates and writes pending updates when the window is closed
+	 */
+	private void initWriteBehind() {
+		WriteBehindBuffer writeBehindBuffer = WriteBehindBuffer.getInstance();
+		String debounce = SettingsConstant.getSettingValue(settings.getSettings(), SettingsConstant.WRITE_DEBOUNCE_MS);
+		try {
+			writeBehindBuffer.setDebounceMillis(Long.parseLong(debounce.trim()));
+		} catch (NumberFormatException e) {
+			logger.warning("Invalid value for " + SettingsConstant.WRITE_DEBOUNCE_MS.getKey() + ": " + debounce);
+		}
+		writeBehindBuffer.setFailureHandler(failedFiles -> SwingUtilities.invokeLater(
+				() -> FileWarningDialog.show(failedFiles, "Error writing translations, the changes are kept for the next save")));
+
+		addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				Map<String, String> failedFiles = writeBehindBuffer.close();
+				if (!failedFiles.isEmpty()) {
+					FileWarningDialog.show(failedFiles, "Error writing translations, the changes are kept for the next start");
+				}
+			}
+		});
+	}
+
+	/**
+	 * Configures the translation memory and shows its hits and misses in the status bar.
+	 * The memory and the connections to DeepL are closed with the window.
+	 */
+	private void initTranslationMemory() {
+		TranslationMemory translationMemory = TranslationMemory.getInstance();
+		String size = SettingsConstant.getSettingValue(settings.getSettings(), SettingsConstant.TRANSLATION_MEMORY_SIZE);
+		try {
+			translationMemory.setCapacity(Integer.parseInt(size.trim()));
+		} catch (NumberFormatException e) {
+			logger.warning("Invalid value for " + SettingsConstant.TRANSLATION_MEMORY_SIZE.getKey() + ": " + size);
+		}
+
+		// Translations run on background threads, polling keeps them free of UI updates
+		Timer statisticsTimer = new Timer(1000, e -> translationMemoryLabel.setText(
+				"Translation Memory: " + translationMemory.getHits() + " hits, " + translationMemory.getMisses() + " misses"));
+		statisticsTimer.start();
+
+		addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				statisticsTimer.stop();
+				translationMemory.close();
+				DeepLService.closeHttpClient();
+			}
+		});
+	}
+
+	/**
+	 * Starts tracking the DeepL quota, if an API key is set, and shows the remaining characters in the status bar
+	 */
+	private void initQuotaTracker() {
+		QuotaTracker quotaTracker = QuotaTracker.getInstance();
+		String apiKey = SettingsConstant.getSettingValue(settings.getSettings(), SettingsConstant.DEEPL_API_KEY).trim();
+		if (apiKey.isEmpty() || apiKey.equals(SettingsConstant.DEEPL_API_KEY.getDefaultValue())) {
+			return;
+		}
+
+		String refreshMinutes = SettingsConstant.getSettingValue(settings.getSettings(), SettingsConstant.QUOTA_REFRESH_MINUTES);
+		try {
+			quotaTracker.start(Long.parseLong(refreshMinutes.trim()));
+		} catch (NumberFormatException e) {
+			logger.warning("Invalid value for " + SettingsConstant.QUOTA_REFRESH_MINUTES.getKey() + ": " + refreshMinutes);
+			quotaTracker.start(Long.parseLong(SettingsConstant.QUOTA_REFRESH_MINUTES.getDefaultValue()));
+		}
+
+		// The tracker counts sent characters locally, so the label is current without asking DeepL
+		Timer quotaTimer = new Timer(1000, e -> quotaLabel.setText(quotaTracker.isSynced()
+				? "DeepL: " + quotaTracker.getRemainingCharacters() + " characters left" : ""));
+		quotaTimer.start();
+	}
+
+	/**
+	 * Writes all pending key updates to their files
+	 */
+	private void save() {
+		int pendingCount = WriteBehindBuffer.getInstance().getPendingCount();
+		Map<String, String> failedFiles = WriteBehindBuffer.getInstance().flush();
+		if (failedFiles.isEmpty()) {
+			setStatusLabel("Saved " + pendingCount + " changes");
+		} else {
+			FileWarningDialog.show(failedFiles, "Error writing translations, the changes are kept for the next save");
 		}
 	}
 
@@ -95,13 +225,7 @@ public class TranslationCheckerApp extends JFrame {
 		setLocationRelativeTo(null);
 
 		// Tabelle initialisieren
-		String[] columnNames = {"Language", "Key", "Value", "File Path"};
-		tableModel = new DefaultTableModel(columnNames, 0) {
-			@Override
-			public boolean isCellEditable(int row, int column) {
-				return column == 2;  // Nur die Value-Spalte ist editierbar
-			}
-		};
+		tableModel = new TranslationTableModel();
 
 		// Verwende die Factory, um die Tabelle zu erstellen
 		table = UIComponentFactory.createTable(tableModel);
@@ -111,7 +235,7 @@ public class TranslationCheckerApp extends JFrame {
 		JScrollPane scrollPane = UIComponentFactory.createScrollPane(table);
 		add(scrollPane, BorderLayout.CENTER);
 
-		TableManager tableManager = new TableManager();
+		TableManager tableManager = new TableManager(tableModel);
 		tableManager.registerTableModelListenerForEditValue(tableModel, table);
 
 		progressBar = new JProgressBar();
@@ -121,16 +245,18 @@ public class TranslationCheckerApp extends JFrame {
 		statusLabel = UIComponentFactory.createLabel("Translation Checker");
 		statusLabel.setHorizontalAlignment(SwingConstants.RIGHT);
 
+		translationMemoryLabel = UIComponentFactory.createLabel("");
+		quotaLabel = UIComponentFactory.createLabel("");
+
 		initButtonsAndPanels();
 	}
 
 	private void initButtonsAndPanels() {
 		JButton refreshButton = UIComponentFactory.createButton("Refresh");
-		refreshButton.addActionListener(e -> {
-			table.setRowSorter(null);
-			TranslationCheck translationCheck = new TranslationCheck(progressBar, this);
-			translationCheck.startTranslationCheck();
-		});
+		refreshButton.addActionListener(e -> refresh());
+
+		JButton saveButton = UIComponentFactory.createButton("Save");
+		saveButton.addActionListener(e -> save());
 
 		JButton settingsButton = UIComponentFactory.createButton("Settings");
 		settingsDialog = new SettingsDialog();
@@ -148,8 +274,12 @@ public class TranslationCheckerApp extends JFrame {
 
 		// Suchleiste
 		JTextField searchField = UIComponentFactory.createTextField("");
+		String[] searchModes = Arrays.stream(SearchQuery.Mode.values()).map(SearchQuery.Mode::getLabel).toArray(String[]::new);
+		JComboBox<String> searchModeComboBox = UIComponentFactory.createComboBox(searchModes);
+		JCheckBox matchCaseCheckBox = UIComponentFactory.createCheckBox("Match case", false);
 		JButton searchButton = UIComponentFactory.createButton("Search");
-		searchButton.addActionListener(e -> searchTable(searchField.getText()));
+		searchButton.addActionListener(e -> searchTable(searchField.getText(),
+				SearchQuery.Mode.values()[searchModeComboBox.getSelectedIndex()], matchCaseCheckBox.isSelected()));
 
 		// Panels erstellen
 		JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
@@ -158,6 +288,8 @@ public class TranslationCheckerApp extends JFrame {
 
 		JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
 		searchPanel.add(searchField);
+		searchPanel.add(searchModeComboBox);
+		searchPanel.add(matchCaseCheckBox);
 		searchPanel.add(searchButton);
 
 		JPanel northPanel = new JPanel(new BorderLayout());
@@ -176,85 +308,275 @@ public class TranslationCheckerApp extends JFrame {
 		southWestPanel.add(languageSettingsButton);
 		
 		southWestPanel.add(refreshButton);
+		southWestPanel.add(saveButton);
+
+		JButton languageAuditButton = UIComponentFactory.createButton("Language Audit");
+		languageAuditButton.addActionListener(e -> runLanguageAudit());
+		southWestPanel.add(languageAuditButton);
+
+		JButton missingKeysButton = UIComponentFactory.createButton("Missing Keys");
+		missingKeysButton.addActionListener(e -> runKeyCompleteness());
+		southWestPanel.add(missingKeysButton);
 
 		southPanel.add(southWestPanel, BorderLayout.WEST);
 		southPanel.add(progressBar, BorderLayout.NORTH);
-		southPanel.add(statusLabel, BorderLayout.EAST);
+		JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+		statusPanel.add(quotaLabel);
+		statusPanel.add(translationMemoryLabel);
+		statusPanel.add(statusLabel);
+		southPanel.add(statusPanel, BorderLayout.EAST);
 
 		add(southPanel, BorderLayout.SOUTH);
 		add(northPanel, BorderLayout.NORTH);
 	}
 
-	private void searchTable(String search) {
-		if (search.isEmpty()) {
-			JOptionPane.showMessageDialog(this, "Please enter a search term.");
+	/**
+	 * Starts a new scan of the base path. A running watcher is stopped until the scan is done.
+	 */
+	public void refresh() {
+		setTranslationWatcher(null);
+		if (translationCheck != null) {
+			translationCheck.cancel();
+		}
+		// Rows are streamed in unsorted, the table is sorted once the scan is done
+		table.setRowSorter(null);
+		translationCheck = new TranslationCheck(progressBar, this);
+		translationCheck.startTranslationCheck();
+	}
+
+	/**
+	 * Checks the languages of all scanned values in the background and shows the values in an unexpected language
+	 */
+	private void runLanguageAudit() {
+		if (ScanIndex.getInstance().size() == 0) {
+			JOptionPane.showMessageDialog(this, "Please run a scan first.");
 			return;
 		}
+		String minLength = SettingsConstant.getSettingValue(settings.getSettings(), SettingsConstant.AUDIT_MIN_LENGTH);
+		LanguageAudit languageAudit;
+		try {
+			languageAudit = new LanguageAudit(Integer.parseInt(minLength.trim()));
+		} catch (NumberFormatException e) {
+			logger.warning("Invalid value for " + SettingsConstant.AUDIT_MIN_LENGTH.getKey() + ": " + minLength);
+			languageAudit = new LanguageAudit(Integer.parseInt(SettingsConstant.AUDIT_MIN_LENGTH.getDefaultValue()));
+		}
 
-		// Erstelle einen TableRowSorter mit dem aktuellen TableModel
-		TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(tableModel);
-		table.setRowSorter(sorter);
+		LanguageAudit audit = languageAudit;
+		setStatusLabel("Auditing languages...");
+		progressBar.setValue(0);
+		progressBar.setVisible(true);
+		SwingWorker<List<AuditFinding>, Void> worker = new SwingWorker<>() {
+			@Override
+			protected List<AuditFinding> doInBackground() throws Exception {
+				return audit.run(this::setProgress);
+			}
 
-		// Definiere den RowFilter, der nach dem eingegebenen Suchbegriff filtert
-		RowFilter<DefaultTableModel, Object> filter = new RowFilter<DefaultTableModel, Object>() {
 			@Override
-			public boolean include(Entry<? extends DefaultTableModel, ? extends Object> entry) {
-				// Greife auf den Wert der zweiten Spalte (Key) zu
-				String key = (String) entry.getValue(1);
-				return key != null && key.contains(search);
+			protected void done() {
+				progressBar.setVisible(false);
+				try {
+					List<AuditFinding> findings = get();
+					setStatusLabel("Language audit: " + findings.size() + " findings");
+					LanguageAuditDialog.show(TranslationCheckerApp.this, findings, audit.isTruncated());
+				} catch (InterruptedException | ExecutionException e) {
+					logger.log(Level.SEVERE, "Error in language audit", e);
+					setStatusLabel("Language audit failed");
+				}
 			}
 		};
+		worker.addPropertyChangeListener(evt -> {
+			if ("progress".equals(evt.getPropertyName())) {
+				progressBar.setValue((Integer) evt.getNewValue());
+			}
+		});
+		worker.execute();
+	}
 
-		sorter.setRowFilter(filter);
+	/**
+	 * Compares the keys of all language files of each bundle family in the background and shows the gaps
+	 */
+	private void runKeyCompleteness() {
+		if (BundleIndex.getInstance().size() == 0) {
+			JOptionPane.showMessageDialog(this, "Please run a scan first.");
+			return;
+		}
+		String referenceCode = SettingsConstant.getSettingValue(settings.getSettings(), SettingsConstant.REFERENCE_LANGUAGE).trim();
+		LanguagesConstant referenceLanguage = LanguagesConstant.GERMAN;
+		boolean found = false;
+		for (LanguagesConstant language : LanguagesConstant.values()) {
+			if (language.getLanguageCode().equalsIgnoreCase(referenceCode)) {
+				referenceLanguage = language;
+				found = true;
+			}
+		}
+		if (!found) {
+			logger.warning("Invalid value for " + SettingsConstant.REFERENCE_LANGUAGE.getKey() + ": " + referenceCode);
+		}
 
-		if (sorter.getViewRowCount() == 0) {
-			JOptionPane.showMessageDialog(this, "No matching key found.");
+		KeyCompleteness completeness = new KeyCompleteness(referenceLanguage);
+		setStatusLabel("Comparing keys...");
+		progressBar.setValue(0);
+		progressBar.setVisible(true);
+		SwingWorker<List<CompletenessFinding>, Void> worker = new SwingWorker<>() {
+			@Override
+			protected List<CompletenessFinding> doInBackground() throws Exception {
+				return completeness.run(this::setProgress);
+			}
+
+			@Override
+			protected void done() {
+				progressBar.setVisible(false);
+				try {
+					List<CompletenessFinding> findings = get();
+					setStatusLabel("Missing keys: " + completeness.getCount(CompletenessFinding.Type.MISSING));
+					KeyCompletenessDialog.show(TranslationCheckerApp.this, findings, completeness);
+				} catch (InterruptedException | ExecutionException e) {
+					logger.log(Level.SEVERE, "Error in completeness check", e);
+					setStatusLabel("Completeness check failed");
+				}
+			}
+		};
+		worker.addPropertyChangeListener(evt -> {
+			if ("progress".equals(evt.getPropertyName())) {
+				progressBar.setValue((Integer) evt.getNewValue());
+			}
+		});
+		worker.execute();
+	}
+
+	/**
+	 * Replaces the active watcher of the watch mode, closing the previous one
+	 *
+	 * @param watcher The new watcher, or null to stop watching
+	 */
+	public synchronized void setTranslationWatcher(TranslationWatcher watcher) {
+		if (translationWatcher != null) {
+			translationWatcher.close();
+		}
+		translationWatcher = watcher;
+		if (watcher != null) {
+			watcher.start();
 		}
 	}
 
-	public void updateTable(Map<LanguagesConstant, List<LanguageProperties>> propertiesMap, boolean searchUnsetOnly) {
-		tableModel.setRowCount(0);
+	/**
+	 * Shows only the rows whose key, value or file path matches. The matching rows are computed once through the
+	 * search index of the model, the filter of the sorter only looks them up.
+	 */
+	private void searchTable(String search, SearchQuery.Mode mode, boolean matchCase) {
+		if (search.isEmpty()) {
+			JOptionPane.showMessageDialog(this, "Please enter a search term.");
+			return;
+		}
 
-		Pattern languageCodePattern = Pattern.compile(".*\\((\\w{2})\\)$");
+		SearchQuery query;
+		try {
+			query = new SearchQuery(mode, search, matchCase);
+		} catch (PatternSyntaxException e) {
+			JOptionPane.showMessageDialog(this, "Invalid regular expression: " + e.getDescription());
+			return;
+		}
 
-		int totalEntries = 0;
+		// Der Sorter bleibt erhalten, damit die Sortierung nicht verloren geht
+		if (sorter == null || table.getRowSorter() != sorter) {
+			sorter = new TableRowSorter<>(tableModel);
+			table.setRowSorter(sorter);
+		}
+		long start = System.nanoTime();
+		sorter.setRowFilter(new SearchFilter(query));
+		logger.fine(() -> "Search for '" + search + "' took " + (System.nanoTime() - start) / 1_000_000 + " ms");
 
-		for (LanguagesConstant lang : propertiesMap.keySet()) {
-			List<LanguageProperties> languageFiles = propertiesMap.get(lang);
+		if (sorter.getViewRowCount() == 0) {
+			JOptionPane.showMessageDialog(this, "No matching entry found.");
+		}
+	}
 
-			for (LanguageProperties languageProps : languageFiles) {
-				Properties properties = languageProps.getProperties();
-				Path filePath = languageProps.getPath();
-
-				for (String key : properties.stringPropertyNames()) {
-					String value = properties.getProperty(key, "").trim();  // Trim Leerzeichen
-
-					Matcher matcher = languageCodePattern.matcher(value);
-
-					if (searchUnsetOnly) {
-						if (matcher.matches()) {
-							tableModel.addRow(new Object[]{lang.getLocale(), key, value, filePath.toString()});
-							totalEntries++;
-						} else if (value.isEmpty()) {
-							tableModel.addRow(new Object[]{lang.getLocale(), key, " ", filePath.toString()});
-							totalEntries++;
-						}
-					} else {
-						tableModel.addRow(new Object[]{lang.getLocale(), key, value, filePath.toString()});
-						totalEntries++;
-					}
-				}
+	/**
+	 * Includes the rows of a precomputed search result. The result is computed again when the rows of the
+	 * model changed, e.g. by the watch mode or an edit.
+	 */
+	private static class SearchFilter extends RowFilter<TranslationTableModel, Integer> {
+		private final SearchQuery query;
+		private BitSet rows;
+		private int modificationCount;
+
+		SearchFilter(SearchQuery query) {
+			this.query = query;
+		}
+
+		@Override
+		public boolean include(Entry<? extends TranslationTableModel, ? extends Integer> entry) {
+			TranslationTableModel model = entry.getModel();
+			if (rows == null || modificationCount != model.getModificationCount()) {
+				rows = model.search(query);
+				modificationCount = model.getModificationCount();
 			}
+			return rows.get(entry.getIdentifier());
 		}
+	}
+
+	/**
+	 * Removes all rows before a new scan streams its results into the table
+	 */
+	public void clearTable() {
+		tableModel.clear();
+	}
+
+	/**
+	 * Appends chunks of scan results to the table
+	 */
+	public void appendRows(List<TranslationTableModel.Rows> chunks) {
+		tableModel.appendRows(chunks);
+	}
 
-		statusLabel.setText("Total Entries: " + totalEntries);
+	/**
+	 * Shows the total and sorts the table once all scan results arrived
+	 */
+	public void finishTable() {
+		statusLabel.setText("Total Entries: " + tableModel.getRowCount());
 		sortTable();
 	}
 
-	private TableRowSorter<DefaultTableModel> sorter;
+	/**
+	 * Replaces the rows of changed or deleted files with their current content, firing a single table event
+	 *
+	 * @param affectedPaths Changed files as well as deleted files and directories
+	 * @param changedFiles The new content of the changed files
+	 * @param searchUnsetOnly Whether only unset keys are shown
+	 */
+	public void applyFileChanges(Set<Path> affectedPaths, Map<LanguagesConstant, List<LanguageProperties>> changedFiles,
+			boolean searchUnsetOnly) {
+		Set<String> affected = affectedPaths.stream().map(Path::toString).collect(Collectors.toSet());
+
+		TranslationTableModel.Rows rows = new TranslationTableModel.Rows();
+		changedFiles.forEach((lang, languageFiles) -> {
+			for (LanguageProperties languageProps : languageFiles) {
+				rows.addFile(languageProps, searchUnsetOnly);
+			}
+		});
+
+		tableModel.replaceFiles(filePath -> isAffected(filePath, affected), rows);
+		statusLabel.setText("Total Entries: " + tableModel.getRowCount());
+	}
+
+	// Checks the file path itself and all of its parent directories against the affected paths
+	private static boolean isAffected(String filePath, Set<String> affected) {
+		String candidate = filePath;
+		while (candidate != null) {
+			if (affected.contains(candidate)) {
+				return true;
+			}
+			int separator = candidate.lastIndexOf(File.separatorChar);
+			candidate = separator > 0 ? candidate.substring(0, separator) : null;
+		}
+		return false;
+	}
+
+	private TableRowSorter<TranslationTableModel> sorter;
 
 	public void sortTable() {
-		if (sorter == null) {
+		// Refresh and search replace the sorter of the table
+		if (sorter == null || table.getRowSorter() != sorter) {
 			sorter = new TableRowSorter<>(tableModel);
 			table.setRowSorter(sorter);
 		}
@@ -0,0 +1,293 @@
+package com.gui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import com.gui.contsants.LanguagesConstant;
+import com.gui.contsants.SettingsConstant;
+import com.gui.core.ScanIndex;
+import com.gui.core.TranslationScanner;
+import com.gui.manager.LoggingManager;
+import com.gui.model.LanguageProperties;
+import com.gui.model.PropertiesEntries;
+import com.gui.report.Finding;
+import com.gui.report.ReportWriter;
+
+/**
+ * Headless command line mode for build pipelines.
+ * Scans the base path with the same {@link TranslationScanner} as the GUI and streams every finding (empty or
+ * "(xx)"-marked value, unreadable file) into a report as it is found. Exits with 1 if there are more missing
+ * translations than allowed.
+ */
+public class TranslationCheckerCli {
+
+	public static final int EXIT_OK = 0;
+	public static final int EXIT_THRESHOLD_EXCEEDED = 1;
+	public static final int EXIT_ERROR = 2;
+
+	private static final String USAGE = String.join(System.lineSeparator(),
+			"Usage: java -cp translation-checker.jar com.gui.TranslationCheckerCli [options]",
+			"",
+			"Options:",
+			"  --base-path <dir>      Directory to scan (default: base.path from the settings)",
+			"  --languages <de,en,..> Languages to check (default: the language.* entries of the settings, or all)",
+			"  --settings <file>      Settings file (default: settings.properties)",
+			"  --output <file>        Write the report to a file instead of stdout",
+			"  --format <format>      Report format: text, csv, json or sarif (default: text)",
+			"  --threshold <n>        Number of missing translations that is still accepted (default: 0)",
+			"  --summary-only         Only print the summary",
+			"  --index                Reuse and update scan-index.dat, so unchanged files are not parsed again",
+			"  --help                 Show this help",
+			"",
+			"Exit codes: 0 = at most <threshold> missing translations, 1 = more missing translations, 2 = error");
+
+	private String basePath;
+	private String languageList;
+	private String settingsFile = "settings.properties";
+	private String outputFile;
+	private long threshold;
+	private boolean summaryOnly;
+	private boolean useIndex;
+	private String format = "text";
+
+	private TranslationScanner scanner;
+	private long keys;
+	private long missing;
+	// Unreadable files are only a handful, the findings themselves are not kept
+	private final Set<String> reportedFiles = new HashSet<>();
+
+	public static void main(String[] args) {
+		System.exit(run(args));
+	}
+
+	/**
+	 * Runs the check without any UI
+	 *
+	 * @param args The command line arguments
+	 * @return The exit code
+	 */
+	public static int run(String[] args) {
+		TranslationCheckerCli cli = new TranslationCheckerCli();
+		try {
+			if (!cli.parseArguments(args)) {
+				System.out.println(USAGE);
+				return EXIT_OK;
+			}
+			return cli.check();
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			return EXIT_ERROR;
+		} catch (IOException | UncheckedIOException e) {
+			System.err.println("Error: " + e.getMessage());
+			return EXIT_ERROR;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return EXIT_ERROR;
+		}
+	}
+
+	/**
+	 * @return false if only the help was requested
+	 */
+	private boolean parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "--base-path":
+				basePath = value(args, ++i);
+				break;
+			case "--languages":
+				languageList = value(args, ++i);
+				break;
+			case "--settings":
+				settingsFile = value(args, ++i);
+				break;
+			case "--output":
+				outputFile = value(args, ++i);
+				break;
+			case "--threshold":
+				String value = value(args, ++i);
+				try {
+					threshold = Long.parseLong(value);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid value for --threshold: " + value);
+				}
+				break;
+			case "--format":
+				format = value(args, ++i);
+				if (!Arrays.asList(ReportWriter.FORMATS).contains(format)) {
+					throw new IllegalArgumentException("Unknown format: " + format);
+				}
+				break;
+			case "--summary-only":
+				summaryOnly = true;
+				break;
+			case "--index":
+				useIndex = true;
+				break;
+			case "--help":
+			case "-h":
+				return false;
+			default:
+				throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+		}
+		return true;
+	}
+
+	private static String value(String[] args, int index) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+		}
+		return args[index];
+	}
+
+	private int check() throws IOException, InterruptedException {
+		Properties settings = loadSettings(Paths.get(settingsFile));
+		LoggingManager.getInstance().configure(settings);
+
+		if (basePath == null) {
+			basePath = SettingsConstant.getSettingValue(settings, SettingsConstant.BASE_PATH);
+		}
+		if (!Files.isDirectory(Paths.get(basePath))) {
+			throw new IllegalArgumentException("Base path is not a directory: " + basePath);
+		}
+		LanguagesConstant[] languages = parseLanguages(languageList != null ? languageList : getConfiguredLanguages(settings));
+
+		ReportWriter reportWriter = summaryOnly ? null : ReportWriter.create(format, createWriter(), Paths.get(basePath));
+		try {
+			scanner = new TranslationScanner(settings, basePath, languages, languageProperties -> {
+				try {
+					report(languageProperties, reportWriter);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			if (useIndex) {
+				scanner.setScanIndex(ScanIndex.getInstance());
+			}
+			scanner.scan();
+
+			// Files whose conversion failed never reach the listener
+			for (Map.Entry<String, String> unreadable : scanner.getUnreadableFiles().entrySet()) {
+				if (!reportedFiles.contains(unreadable.getKey())) {
+					reportUnreadable(unreadable.getKey(), null, unreadable.getValue(), reportWriter);
+				}
+			}
+		} finally {
+			if (reportWriter != null) {
+				reportWriter.close();
+			}
+		}
+		System.err.println("Checked " + keys + " keys in " + scanner.getFileCount() + " files, " + missing
+				+ " missing translations, " + scanner.getUnreadableFiles().size() + " unreadable files");
+		return missing > threshold ? EXIT_THRESHOLD_EXCEEDED : EXIT_OK;
+	}
+
+	// Called on the scanning thread only, so the report needs no locking
+	private void report(LanguageProperties languageProperties, ReportWriter reportWriter) throws IOException {
+		String path = languageProperties.getPath().toString();
+		String language = languageProperties.getLanguage().getLanguageCode();
+		String error = scanner.getUnreadableFiles().get(path);
+		if (error != null) {
+			reportUnreadable(path, language, error, reportWriter);
+		}
+
+		PropertiesEntries properties = languageProperties.getProperties();
+		keys += properties.size();
+		for (int i = 0; i < properties.size(); i++) {
+			String value = properties.getValue(i).trim();
+			if (!TranslationScanner.isUnset(value)) {
+				continue;
+			}
+			missing++;
+			if (reportWriter != null) {
+				reportWriter.write(Finding.unsetValue(language, path, properties.getLineNumber(i), properties.getKey(i), value));
+			}
+		}
+	}
+
+	private void reportUnreadable(String path, String language, String error, ReportWriter reportWriter) throws IOException {
+		reportedFiles.add(path);
+		if (reportWriter != null) {
+			reportWriter.write(Finding.unreadableFile(language, path, error, TranslationScanner.isEncodingError(error)));
+		}
+	}
+
+	private Writer createWriter() throws IOException {
+		if (outputFile == null) {
+			return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16) {
+				@Override
+				public void close() throws IOException {
+					// System.out stays open for the summary
+					flush();
+				}
+			};
+		}
+		return Files.newBufferedWriter(Paths.get(outputFile), StandardCharsets.UTF_8);
+	}
+
+	private static LanguagesConstant[] parseLanguages(String languageList) {
+		List<LanguagesConstant> languages = new ArrayList<>();
+		for (String code : languageList.split(",")) {
+			LanguagesConstant language = null;
+			for (LanguagesConstant candidate : LanguagesConstant.values()) {
+				if (candidate.getLanguageCode().equalsIgnoreCase(code.trim())) {
+					language = candidate;
+				}
+			}
+			if (language == null) {
+				throw new IllegalArgumentException("Unknown language: " + code.trim());
+			}
+			languages.add(language);
+		}
+		return languages.toArray(new LanguagesConstant[0]);
+	}
+
+	/**
+	 * Gets the "language.<code>" entries of the settings, or all known languages if there are none
+	 */
+	private static String getConfiguredLanguages(Properties settings) {
+		List<String> codes = new ArrayList<>();
+		for (LanguagesConstant language : LanguagesConstant.values()) {
+			if (settings.containsKey("language." + language.getLanguageCode())) {
+				codes.add(language.getLanguageCode());
+			}
+		}
+		if (codes.isEmpty()) {
+			for (LanguagesConstant language : LanguagesConstant.values()) {
+				codes.add(language.getLanguageCode());
+			}
+		}
+		return String.join(",", codes);
+	}
+
+	/**
+	 * Reads the settings file, unlike the GUI a missing file is not created but all defaults are used
+	 */
+	private static Properties loadSettings(Path settingsPath) throws IOException {
+		Properties settings = new Properties();
+		try (InputStream in = Files.newInputStream(settingsPath)) {
+			settings.load(in);
+		} catch (NoSuchFileException e) {
+			// Defaults of SettingsConstant
+		}
+		return settings;
+	}
+}
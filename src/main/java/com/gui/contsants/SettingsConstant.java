@@ -6,9 +6,27 @@ public enum SettingsConstant {
 
 	BASE_PATH("base.path", "PATH_TO_PROJECT"),
 	DEEPL_API_KEY("api.key", "KEY"),
+	DEEPL_API_URL("api.url", "https://api-free.deepl.com/v2"),
+	DEEPL_MAX_CONNECTIONS("api.max.connections", "8"),
+	DEEPL_CONNECT_TIMEOUT_MS("api.connect.timeout.ms", "10000"),
+	DEEPL_READ_TIMEOUT_MS("api.read.timeout.ms", "30000"),
+	DEEPL_KEEP_ALIVE_MS("api.keep.alive.ms", "60000"),
+	QUOTA_REFRESH_MINUTES("api.quota.refresh.minutes", "10"),
 	SEARCH_UNSET_ONLY("search.unset.only", "true"),
 	CONVERT_FILES("files.convert", "false"),
-	LANGUAGE_DETECTION("files.detect", "true");
+	LANGUAGE_DETECTION("files.detect", "true"),
+	WATCH_MODE("watch.mode", "false"),
+	SCAN_THREADS("scan.threads", "0"),
+	SCAN_MMAP_THRESHOLD("scan.mmap.threshold", "8388608"),
+	LOG_LEVEL("log.level", "INFO"),
+	LOG_RATE_LIMIT("log.rate.limit", "100"),
+	WRITE_DEBOUNCE_MS("write.debounce.ms", "2000"),
+	TRANSLATION_THREADS("translation.threads", "4"),
+	TRANSLATION_RATE_LIMIT("translation.rate.limit", "5"),
+	TRANSLATION_MAX_RETRIES("translation.max.retries", "5"),
+	TRANSLATION_MEMORY_SIZE("translation.memory.size", "10000"),
+	AUDIT_MIN_LENGTH("audit.min.length", "20"),
+	REFERENCE_LANGUAGE("reference.language", "de");
 
 	private final String key;
 	private final String defaultValue;
@@ -0,0 +1,200 @@
+package com.gui.core;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import com.gui.contsants.LanguagesConstant;
+import com.gui.model.BundleFamily;
+import com.gui.model.LanguageProperties;
+import com.gui.model.PropertiesEntries;
+
+/**
+ * In-memory index of the bundle families of the last scan.
+ * Filled by the {@link TranslationScanner} while files are parsed and kept up to date by the watch mode,
+ * so the other languages of a file are found without listing its directory. Families that are looked up after
+ * the scan are validated against the modification times of the {@link ScanIndex}.
+ */
+public class BundleIndex {
+
+	private static final Logger logger = Logger.getLogger(BundleIndex.class.getName());
+	private static BundleIndex instance;
+
+	// Family path -> family, and every absolute file path -> its family
+	private final Map<Path, BundleFamily> families = new ConcurrentHashMap<>();
+	private final Map<Path, BundleFamily> fileFamilies = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the singleton instance of the BundleIndex
+	 *
+	 * @return The BundleIndex instance
+	 */
+	public static synchronized BundleIndex getInstance() {
+		if (instance == null) {
+			instance = new BundleIndex();
+		}
+		return instance;
+	}
+
+	BundleIndex() {
+	}
+
+	/**
+	 * Adds a parsed file to its family, replacing an earlier version of the file
+	 */
+	public synchronized void put(LanguageProperties languageProperties) {
+		Path file = languageProperties.getPath().toAbsolutePath();
+		Path familyPath = BundleFamily.getFamilyPath(file, languageProperties.getLanguage());
+		BundleFamily family = families.computeIfAbsent(familyPath, BundleFamily::new);
+		family.put(new LanguageProperties(languageProperties.getLanguage(), languageProperties.getProperties(), file));
+		fileFamilies.put(file, family);
+	}
+
+	/**
+	 * Removes a file from its family
+	 */
+	public synchronized void remove(Path path) {
+		Path file = path.toAbsolutePath();
+		BundleFamily family = fileFamilies.remove(file);
+		if (family == null) {
+			return;
+		}
+		family.remove(file);
+		if (family.isEmpty()) {
+			families.remove(family.getPath());
+		}
+	}
+
+	/**
+	 * Removes a file or all files below a deleted directory
+	 */
+	public synchronized void removeUnder(Path path) {
+		Path absolute = path.toAbsolutePath();
+		List<Path> removed = new ArrayList<>();
+		for (Path file : fileFamilies.keySet()) {
+			if (file.startsWith(absolute)) {
+				removed.add(file);
+			}
+		}
+		removed.forEach(this::remove);
+	}
+
+	public synchronized void clear() {
+		families.clear();
+		fileFamilies.clear();
+	}
+
+	/**
+	 * Gets the family of a scanned file
+	 *
+	 * @return The family, or null if the file was not scanned
+	 */
+	public BundleFamily getFamily(Path file) {
+		return fileFamilies.get(file.toAbsolutePath());
+	}
+
+	/**
+	 * Gets the files of the family of a file with their current content, for lookups of single keys.
+	 * Indexed files are used as long as size and modification time match the {@link ScanIndex}, changed files and
+	 * families that were not scanned are parsed again with the charset of their language and put into both indexes.
+	 * The files have their content on disk, see {@link #getCurrentValue} for updates that were not written yet.
+	 *
+	 * @param path Any file of the family
+	 * @return The readable files of the family, ordered by language
+	 */
+	public List<LanguageProperties> getCurrentFiles(Path path) {
+		Path file = path.toAbsolutePath();
+		BundleFamily family = getFamily(file);
+		Map<LanguagesConstant, Path> candidates = new EnumMap<>(LanguagesConstant.class);
+		if (family != null) {
+			family.getFiles().forEach((lang, languageProperties) -> candidates.put(lang, languageProperties.getPath()));
+		} else {
+			candidates.putAll(findFamilyFiles(file));
+		}
+
+		ScanIndex scanIndex = ScanIndex.getInstance();
+		List<LanguageProperties> files = new ArrayList<>();
+		for (Map.Entry<LanguagesConstant, Path> candidate : candidates.entrySet()) {
+			LanguagesConstant lang = candidate.getKey();
+			Path candidatePath = candidate.getValue();
+			Charset charset = lang.getEncoding();
+			try {
+				BasicFileAttributes attributes = ScanIndex.readAttributes(candidatePath);
+				LanguageProperties indexed = family != null ? family.getFile(lang) : null;
+				if (indexed != null && scanIndex.getIfUnchanged(candidatePath, attributes, charset) != null) {
+					files.add(indexed);
+					continue;
+				}
+
+				PropertiesEntries properties = PropertiesParser.parse(candidatePath, charset);
+				scanIndex.put(candidatePath, attributes, charset, properties);
+				LanguageProperties current = new LanguageProperties(lang, properties, candidatePath);
+				put(current);
+				files.add(current);
+			} catch (NoSuchFileException e) {
+				remove(candidatePath);
+				scanIndex.remove(candidatePath);
+			} catch (IOException | IllegalArgumentException e) {
+				logger.log(Level.WARNING, "Error loading properties file: " + candidatePath, e);
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Gets the value of a key in a file of {@link #getCurrentFiles}, an update still waiting in the
+	 * {@link WriteBehindBuffer} takes precedence over the content on disk
+	 *
+	 * @return The value, or null if the file does not have the key
+	 */
+	public String getCurrentValue(LanguageProperties file, String key) {
+		String pendingValue = WriteBehindBuffer.getInstance().getPendingValue(file.getPath(), key);
+		return pendingValue != null ? pendingValue : file.getProperties().getProperty(key);
+	}
+
+	/**
+	 * Lists the language files next to a file that was not scanned and belong to its family
+	 */
+	private static Map<LanguagesConstant, Path> findFamilyFiles(Path file) {
+		Map<String, LanguagesConstant> prefixOrder = TranslationScanner.createPrefixOrder(LanguagesConstant.values());
+		Map<LanguagesConstant, Path> familyFiles = new EnumMap<>(LanguagesConstant.class);
+		LanguagesConstant fileLanguage = TranslationScanner.matchLanguage(file.getFileName().toString(), prefixOrder);
+		if (fileLanguage == null) {
+			return familyFiles;
+		}
+		Path familyPath = BundleFamily.getFamilyPath(file, fileLanguage);
+		try (Stream<Path> siblings = Files.list(file.getParent())) {
+			siblings.forEach(sibling -> {
+				LanguagesConstant lang = TranslationScanner.matchLanguage(sibling.getFileName().toString(), prefixOrder);
+				if (lang != null && BundleFamily.getFamilyPath(sibling, lang).equals(familyPath)) {
+					familyFiles.put(lang, sibling);
+				}
+			});
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Error listing properties files in directory: " + file.getParent(), e);
+		}
+		return familyFiles;
+	}
+
+	/**
+	 * Gets a snapshot of all families
+	 */
+	public List<BundleFamily> getFamilies() {
+		return new ArrayList<>(families.values());
+	}
+
+	public int size() {
+		return families.size();
+	}
+}
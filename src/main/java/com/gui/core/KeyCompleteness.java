@@ -0,0 +1,195 @@
+package com.gui.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+import com.gui.contsants.LanguagesConstant;
+import com.gui.model.BundleFamily;
+import com.gui.model.CompletenessFinding;
+import com.gui.model.LanguageProperties;
+import com.gui.model.PropertiesEntries;
+
+/**
+ * Finds keys that are missing in some languages of a bundle family (the language files with the same directory and
+ * base name, e.g. messages_de.properties and messages_fr.properties).
+ * Every key of a family gets a bit, the keys of the reference file take bits 0..n-1 in file order so its own index
+ * is the dictionary. Each language file becomes a {@link BitSet}, missing, extra and orphaned keys are then plain
+ * and/andNot/or operations over those sets. Families are checked in parallel on one thread per core and at most
+ * {@value #MAX_FINDINGS} findings are kept, the counts are always complete.
+ */
+public class KeyCompleteness {
+
+	private static final Logger logger = Logger.getLogger(KeyCompleteness.class.getName());
+	private static final int MAX_FINDINGS = 100_000;
+
+	private final LanguagesConstant referenceLanguage;
+	private final List<CompletenessFinding> findings = new ArrayList<>();
+	private final AtomicLongArray counts = new AtomicLongArray(CompletenessFinding.Type.values().length);
+	private volatile boolean truncated;
+
+	/**
+	 * @param referenceLanguage The language whose keys every other language should have
+	 */
+	public KeyCompleteness(LanguagesConstant referenceLanguage) {
+		this.referenceLanguage = referenceLanguage;
+	}
+
+	/**
+	 * Checks all families of the bundle index
+	 *
+	 * @param progressCallback Receives the progress in percent
+	 * @return The findings, ordered by file
+	 */
+	public List<CompletenessFinding> run(IntConsumer progressCallback) throws InterruptedException {
+		List<BundleFamily> families = BundleIndex.getInstance().getFamilies();
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		AtomicInteger checkedFamilies = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (BundleFamily family : families) {
+				futures.add(executor.submit(() -> {
+					checkFamily(family.getFiles());
+					progressCallback.accept(checkedFamilies.incrementAndGet() * 100 / families.size());
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Completeness check failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		logger.info("Checked " + families.size() + " bundle families in " + (System.nanoTime() - start) / 1_000_000
+				+ " ms: " + getCount(CompletenessFinding.Type.MISSING) + " missing, "
+				+ getCount(CompletenessFinding.Type.EXTRA) + " extra, " + getCount(CompletenessFinding.Type.ORPHANED)
+				+ " orphaned keys" + (truncated ? " (truncated)" : ""));
+		synchronized (findings) {
+			findings.sort(Comparator.comparing(CompletenessFinding::getPath)
+					.thenComparing(CompletenessFinding::getType)
+					.thenComparingInt(CompletenessFinding::getLineNumber));
+			return new ArrayList<>(findings);
+		}
+	}
+
+	/**
+	 * Gets the number of keys of a type, including those dropped from the findings
+	 */
+	public long getCount(CompletenessFinding.Type type) {
+		return counts.get(type.ordinal());
+	}
+
+	/**
+	 * Whether findings were dropped because there were more than {@value #MAX_FINDINGS}
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	private void checkFamily(Map<LanguagesConstant, LanguageProperties> files) {
+		LanguageProperties referenceFile = files.get(referenceLanguage);
+		PropertiesEntries reference = referenceFile != null ? referenceFile.getProperties() : new PropertiesEntries(0);
+		int referenceSize = reference.size();
+
+		// Keys that are not in the reference file get the bits after its keys
+		Map<String, Integer> otherKeys = new HashMap<>();
+		List<String> otherKeyList = new ArrayList<>();
+		Map<LanguagesConstant, BitSet> keySets = new LinkedHashMap<>();
+		BitSet referenceKeys = new BitSet(referenceSize);
+		referenceKeys.set(0, referenceSize);
+		for (LanguageProperties file : files.values()) {
+			if (file.getLanguage() == referenceLanguage) {
+				continue;
+			}
+			PropertiesEntries properties = file.getProperties();
+			BitSet keys = new BitSet(referenceSize);
+			int lastBit = -1;
+			for (int i = 0; i < properties.size(); i++) {
+				String key = properties.getKey(i);
+				// Translations mostly keep the order of the reference file, so try the next reference key first
+				int next = lastBit + 1;
+				int bit = next < referenceSize && reference.getKey(next).equals(key) ? next : reference.indexOf(key);
+				if (bit < 0) {
+					keys.set(referenceSize + otherKeys.computeIfAbsent(key, k -> {
+						otherKeyList.add(k);
+						return otherKeyList.size() - 1;
+					}));
+					continue;
+				}
+				keys.set(bit);
+				lastBit = bit;
+			}
+			keySets.put(file.getLanguage(), keys);
+		}
+
+		// Keys outside the reference that more than one language has
+		BitSet seen = new BitSet();
+		BitSet seenTwice = new BitSet();
+		for (BitSet keys : keySets.values()) {
+			BitSet both = (BitSet) keys.clone();
+			both.and(seen);
+			seenTwice.or(both);
+			seen.or(keys);
+		}
+
+		List<CompletenessFinding> familyFindings = new ArrayList<>();
+		for (Map.Entry<LanguagesConstant, BitSet> language : keySets.entrySet()) {
+			LanguagesConstant lang = language.getKey();
+			BitSet keys = language.getValue();
+
+			BitSet missing = (BitSet) referenceKeys.clone();
+			missing.andNot(keys);
+			BitSet extra = (BitSet) keys.clone();
+			extra.andNot(referenceKeys);
+			BitSet orphaned = (BitSet) extra.clone();
+			orphaned.andNot(seenTwice);
+			extra.and(seenTwice);
+
+			String path = files.get(lang).getPath().toString();
+			PropertiesEntries properties = files.get(lang).getProperties();
+			addFindings(familyFindings, CompletenessFinding.Type.MISSING, missing, lang, path, null, reference, otherKeyList);
+			addFindings(familyFindings, CompletenessFinding.Type.EXTRA, extra, lang, path, properties, reference, otherKeyList);
+			addFindings(familyFindings, CompletenessFinding.Type.ORPHANED, orphaned, lang, path, properties, reference, otherKeyList);
+		}
+
+		synchronized (findings) {
+			int free = MAX_FINDINGS - findings.size();
+			if (familyFindings.size() > free) {
+				truncated = true;
+			}
+			findings.addAll(familyFindings.subList(0, Math.min(free, familyFindings.size())));
+		}
+	}
+
+	/**
+	 * Counts the set bits and turns them into findings, stops early once a family alone exceeds the limit
+	 *
+	 * @param properties The language file to take the line numbers from, null for keys it does not have
+	 */
+	private void addFindings(List<CompletenessFinding> familyFindings, CompletenessFinding.Type type, BitSet bits,
+			LanguagesConstant lang, String path, PropertiesEntries properties, PropertiesEntries reference,
+			List<String> otherKeyList) {
+		counts.addAndGet(type.ordinal(), bits.cardinality());
+		int referenceSize = reference.size();
+		for (int bit = bits.nextSetBit(0); bit >= 0 && familyFindings.size() <= MAX_FINDINGS; bit = bits.nextSetBit(bit + 1)) {
+			String key = bit < referenceSize ? reference.getKey(bit) : otherKeyList.get(bit - referenceSize);
+			int lineNumber = properties != null ? properties.getLineNumber(properties.indexOf(key)) : 0;
+			familyFindings.add(new CompletenessFinding(type, lang, key, path, lineNumber));
+		}
+	}
+}
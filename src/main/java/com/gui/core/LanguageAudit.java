@@ -0,0 +1,164 @@
+package com.gui.core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import com.gui.contsants.LanguagesConstant;
+import com.gui.model.AuditFinding;
+import com.gui.model.PropertiesEntries;
+import com.gui.report.CsvReportWriter;
+import com.gui.services.LanguageDetectionService;
+
+/**
+ * Offline audit of the languages of all scanned files.
+ * Every value is run through the bundled langdetect profiles, values whose detected language differs from the
+ * language of their file are reported, e.g. English text in messages_fr.properties. Files are audited in parallel
+ * on one thread per core, straight from the {@link ScanIndex}, and at most {@value #MAX_FINDINGS} findings are kept.
+ */
+public class LanguageAudit {
+
+	private static final Logger logger = Logger.getLogger(LanguageAudit.class.getName());
+	private static final int MAX_FINDINGS = 100_000;
+	// Placeholders and markup say nothing about the language
+	private static final Pattern NON_TEXT_PATTERN = Pattern.compile("\\{[^}]*\\}|<[^>]*>|&\\w+;|%\\w");
+
+	private final int minLength;
+	private final List<AuditFinding> findings = new ArrayList<>();
+	private volatile boolean truncated;
+
+	/**
+	 * @param minLength The number of letters below which a value is too short for a reliable detection
+	 */
+	public LanguageAudit(int minLength) {
+		this.minLength = minLength;
+	}
+
+	/**
+	 * Audits all files of the scan index. Files of languages without a profile are skipped.
+	 *
+	 * @param progressCallback Receives the progress in percent
+	 * @return The findings, ordered by file
+	 */
+	public List<AuditFinding> run(IntConsumer progressCallback) throws InterruptedException {
+		LanguageDetectionService detectionService = LanguageDetectionService.getInstance();
+		LanguagesConstant[] languages = Arrays.stream(LanguagesConstant.values())
+				.filter(lang -> detectionService.isSupported(lang.getLanguageCode()))
+				.toArray(LanguagesConstant[]::new);
+		Map<String, LanguagesConstant> prefixOrder = TranslationScanner.createPrefixOrder(languages);
+		Map<Path, PropertiesEntries> files = ScanIndex.getInstance().getFiles();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		AtomicInteger auditedFiles = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (Map.Entry<Path, PropertiesEntries> file : files.entrySet()) {
+				LanguagesConstant lang = TranslationScanner.matchLanguage(file.getKey().getFileName().toString(), prefixOrder);
+				if (lang == null) {
+					auditedFiles.incrementAndGet();
+					continue;
+				}
+				futures.add(executor.submit(() -> {
+					auditFile(detectionService, lang, file.getKey(), file.getValue());
+					progressCallback.accept(auditedFiles.incrementAndGet() * 100 / files.size());
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Language audit failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		logger.info("Audited " + files.size() + " files, " + findings.size() + " values in an unexpected language"
+				+ (truncated ? " (truncated)" : ""));
+		synchronized (findings) {
+			findings.sort((a, b) -> a.getPath().equals(b.getPath())
+					? Integer.compare(a.getLineNumber(), b.getLineNumber()) : a.getPath().compareTo(b.getPath()));
+			return new ArrayList<>(findings);
+		}
+	}
+
+	/**
+	 * Whether findings were dropped because there were more than {@value #MAX_FINDINGS}
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	private void auditFile(LanguageDetectionService detectionService, LanguagesConstant lang, Path path,
+			PropertiesEntries properties) {
+		String expectedLanguage = lang.getLanguageCode();
+		List<AuditFinding> fileFindings = new ArrayList<>();
+		for (int i = 0; i < properties.size() && !Thread.currentThread().isInterrupted(); i++) {
+			String value = properties.getValue(i).trim();
+			// Unset values were copied from another language on purpose
+			if (TranslationScanner.isMarked(value)) {
+				continue;
+			}
+			String text = NON_TEXT_PATTERN.matcher(value).replaceAll(" ");
+			if (countLetters(text) < minLength) {
+				continue;
+			}
+			String detectedLanguage = detectionService.detect(text);
+			if (detectedLanguage != null && !detectedLanguage.equals(expectedLanguage)) {
+				fileFindings.add(new AuditFinding(lang, detectedLanguage, properties.getKey(i), value, path.toString(),
+						properties.getLineNumber(i)));
+			}
+		}
+
+		synchronized (findings) {
+			int free = MAX_FINDINGS - findings.size();
+			if (fileFindings.size() > free) {
+				truncated = true;
+			}
+			findings.addAll(fileFindings.subList(0, Math.min(free, fileFindings.size())));
+		}
+	}
+
+	private static int countLetters(String text) {
+		int letters = 0;
+		for (int i = 0; i < text.length(); i++) {
+			if (Character.isLetter(text.charAt(i))) {
+				letters++;
+			}
+		}
+		return letters;
+	}
+
+	/**
+	 * Writes the findings as CSV (UTF-8)
+	 *
+	 * @param findings The findings to write
+	 * @param reportPath The report file
+	 */
+	public static void writeReport(List<AuditFinding> findings, Path reportPath) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8)) {
+			writer.write("language,detected,key,value,file,line");
+			writer.newLine();
+			for (AuditFinding finding : findings) {
+				writer.write(String.join(",", finding.getLanguage().getLanguageCode(), finding.getDetectedLanguage(),
+						CsvReportWriter.escape(finding.getKey()), CsvReportWriter.escape(finding.getValue()), CsvReportWriter.escape(finding.getPath()),
+						String.valueOf(finding.getLineNumber())));
+				writer.newLine();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,311 @@
+package com.gui.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.gui.model.PropertiesEntries;
+
+/**
+ * Parser for .properties files that reads the file bytes directly and decodes them with the charset
+ * of the language. Lines, continuations, comments, separators and escapes (including unicode escapes) are handled
+ * exactly like {@link java.util.Properties#load(java.io.Reader)}, but the result keeps the file order
+ * and the line number of every entry.
+ */
+public class PropertiesParser {
+
+	// Decoders are not thread-safe, but the parse pool reuses its threads for many files
+	private static final ThreadLocal<Map<Charset, CharsetDecoder>> DECODERS = ThreadLocal.withInitial(HashMap::new);
+
+	private char[] buf;
+	private int pos;
+	private int end;
+	private boolean skipLF;
+	private int lineStart;
+
+	private char[] lineBuf = new char[256];
+	private char[] convertBuf = new char[256];
+
+	private PropertiesParser() {
+	}
+
+	/**
+	 * Parses a properties file
+	 *
+	 * @param path The file to parse
+	 * @param charset The charset of the file's language
+	 * @return The entries of the file in file order
+	 * @throws CharacterCodingException If the file is not valid in the given charset
+	 * @throws IllegalArgumentException If the file contains a malformed \\uxxxx escape
+	 */
+	public static PropertiesEntries parse(Path path, Charset charset) throws IOException {
+		return parse(ByteBuffer.wrap(Files.readAllBytes(path)), charset);
+	}
+
+	/**
+	 * Parses a properties file, memory-mapping it if it is larger than the threshold
+	 *
+	 * @param path The file to parse
+	 * @param charset The charset of the file's language
+	 * @param mmapThreshold Files above this size in bytes are mapped instead of read, a negative value disables mapping
+	 * @return The entries of the file in file order
+	 */
+	public static PropertiesEntries parse(Path path, Charset charset, long mmapThreshold) throws IOException {
+		long size = Files.size(path);
+		if (mmapThreshold < 0 || size <= mmapThreshold || size > Integer.MAX_VALUE) {
+			return parse(path, charset);
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			// The mapping stays valid after the channel is closed and is released by the GC,
+			// the decoder reads straight from the page cache without copying into a heap array first
+			return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), charset);
+		}
+	}
+
+	/**
+	 * Parses the raw bytes of a properties file
+	 *
+	 * @param bytes The file content
+	 * @param charset The charset of the file's language
+	 * @return The entries of the file in file order
+	 */
+	public static PropertiesEntries parse(ByteBuffer bytes, Charset charset) throws CharacterCodingException {
+		CharBuffer chars = decoder(charset).decode(bytes);
+		return new PropertiesParser().parse(chars.array(), chars.arrayOffset() + chars.position(),
+				chars.arrayOffset() + chars.limit());
+	}
+
+	private static CharsetDecoder decoder(Charset charset) {
+		// Report malformed input like Files.newBufferedReader does ("Input length = n")
+		return DECODERS.get().computeIfAbsent(charset, c -> c.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT));
+	}
+
+	private PropertiesEntries parse(char[] buf, int pos, int end) {
+		this.buf = buf;
+		this.pos = pos;
+		this.end = end;
+
+		// Rough guess of one entry per 40 characters keeps resizing rare
+		PropertiesEntries entries = new PropertiesEntries((end - pos) / 40 + 1);
+		int line = 1;
+		int countedUpTo = pos;
+
+		int len;
+		while ((len = readLine()) >= 0) {
+			if (lineStart >= 0) {
+				line += countLineTerminators(countedUpTo, lineStart);
+				countedUpTo = lineStart;
+			}
+			parseEntry(len, line, entries);
+		}
+		return entries;
+	}
+
+	/**
+	 * Reads the next logical line into lineBuf, joining continuation lines and skipping comments,
+	 * blank lines and leading whitespace. Port of the LineReader of java.util.Properties.
+	 *
+	 * @return The length of the logical line, or -1 at the end of the input
+	 */
+	private int readLine() {
+		int len = 0;
+		boolean skipWhiteSpace = true;
+		boolean appendedLineBegin = false;
+		boolean precedingBackslash = false;
+		lineStart = -1;
+
+		while (true) {
+			if (pos >= end) {
+				if (len == 0) {
+					return -1;
+				}
+				return precedingBackslash ? len - 1 : len;
+			}
+			char c = buf[pos++];
+
+			if (skipLF) {
+				skipLF = false;
+				if (c == '\n') {
+					continue;
+				}
+			}
+			if (skipWhiteSpace) {
+				if (c == ' ' || c == '\t' || c == '\f') {
+					continue;
+				}
+				if (!appendedLineBegin && (c == '\r' || c == '\n')) {
+					continue;
+				}
+				skipWhiteSpace = false;
+				appendedLineBegin = false;
+			}
+
+			// Comments are only recognized at the start of a logical line
+			if (len == 0 && (c == '#' || c == '!')) {
+				while (pos < end && buf[pos] != '\n' && buf[pos] != '\r') {
+					pos++;
+				}
+				if (pos >= end) {
+					return -1;
+				}
+				pos++;
+				skipWhiteSpace = true;
+				continue;
+			}
+
+			if (c != '\n' && c != '\r') {
+				if (lineStart < 0) {
+					lineStart = pos - 1;
+				}
+				if (len == lineBuf.length) {
+					lineBuf = Arrays.copyOf(lineBuf, len * 2);
+				}
+				lineBuf[len++] = c;
+				precedingBackslash = c == '\\' ? !precedingBackslash : false;
+			} else {
+				// Reached the end of a physical line
+				if (len == 0) {
+					skipWhiteSpace = true;
+					continue;
+				}
+				if (pos >= end) {
+					return precedingBackslash ? len - 1 : len;
+				}
+				if (precedingBackslash) {
+					// A backslash at the end of the line is not part of the line
+					len--;
+					skipWhiteSpace = true;
+					appendedLineBegin = true;
+					precedingBackslash = false;
+					if (c == '\r') {
+						skipLF = true;
+					}
+				} else {
+					return len;
+				}
+			}
+		}
+	}
+
+	// Counts "\n", "\r\n" and a lone "\r" as one line terminator each
+	private int countLineTerminators(int from, int to) {
+		int count = 0;
+		for (int i = from; i < to; i++) {
+			if (buf[i] == '\n' || (buf[i] == '\r' && (i + 1 >= end || buf[i + 1] != '\n'))) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	// Splits the logical line into key and value, see Properties.load0
+	private void parseEntry(int len, int lineNumber, PropertiesEntries entries) {
+		int keyLen = 0;
+		int valueStart = len;
+		boolean hasSeparator = false;
+		boolean precedingBackslash = false;
+
+		while (keyLen < len) {
+			char c = lineBuf[keyLen];
+			if ((c == '=' || c == ':') && !precedingBackslash) {
+				valueStart = keyLen + 1;
+				hasSeparator = true;
+				break;
+			} else if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+				valueStart = keyLen + 1;
+				break;
+			}
+			precedingBackslash = c == '\\' ? !precedingBackslash : false;
+			keyLen++;
+		}
+
+		while (valueStart < len) {
+			char c = lineBuf[valueStart];
+			if (c != ' ' && c != '\t' && c != '\f') {
+				if (!hasSeparator && (c == '=' || c == ':')) {
+					hasSeparator = true;
+				} else {
+					break;
+				}
+			}
+			valueStart++;
+		}
+
+		String key = convert(0, keyLen);
+		String value = convert(valueStart, len - valueStart);
+		entries.put(key, value, lineNumber);
+	}
+
+	// Resolves escapes, see Properties.loadConvert. Strings without a backslash are copied directly.
+	private String convert(int off, int len) {
+		int end = off + len;
+		int firstBackslash = -1;
+		for (int i = off; i < end; i++) {
+			if (lineBuf[i] == '\\') {
+				firstBackslash = i;
+				break;
+			}
+		}
+		if (firstBackslash < 0) {
+			return new String(lineBuf, off, len);
+		}
+
+		if (convertBuf.length < len) {
+			convertBuf = new char[Math.max(len, convertBuf.length * 2)];
+		}
+		int outLen = firstBackslash - off;
+		System.arraycopy(lineBuf, off, convertBuf, 0, outLen);
+		off = firstBackslash;
+
+		while (off < end) {
+			char c = lineBuf[off++];
+			if (c == '\\') {
+				c = lineBuf[off++];
+				if (c == 'u') {
+					if (off > end - 4) {
+						throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+					}
+					int value = 0;
+					for (int i = 0; i < 4; i++) {
+						value = (value << 4) + hexDigit(lineBuf[off++]);
+					}
+					c = (char) value;
+				} else if (c == 't') {
+					c = '\t';
+				} else if (c == 'r') {
+					c = '\r';
+				} else if (c == 'n') {
+					c = '\n';
+				} else if (c == 'f') {
+					c = '\f';
+				}
+			}
+			convertBuf[outLen++] = c;
+		}
+		return new String(convertBuf, 0, outLen);
+	}
+
+	private static int hexDigit(char c) {
+		if (c >= '0' && c <= '9') {
+			return c - '0';
+		} else if (c >= 'a' && c <= 'f') {
+			return c - 'a' + 10;
+		} else if (c >= 'A' && c <= 'F') {
+			return c - 'A' + 10;
+		}
+		throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+	}
+}
@@ -0,0 +1,87 @@
+package com.gui.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.gui.model.PropertiesEntries;
+
+/**
+ * Compares the buffered and the memory-mapped read path of the {@link PropertiesParser}.
+ * Generates bundles of different sizes in a temporary directory and prints the average time per file,
+ * which helps choosing a value for the "scan.mmap.threshold" setting.
+ *
+ * Usage: PropertiesParserBenchmark [iterations] [charset]
+ */
+public class PropertiesParserBenchmark {
+
+	private static final int[] FILE_SIZES_KB = { 16, 256, 1024, 4096, 16384 };
+
+	public static void main(String[] args) throws IOException {
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+		Charset charset = args.length > 1 ? Charset.forName(args[1]) : StandardCharsets.UTF_8;
+
+		Path directory = Files.createTempDirectory("properties-benchmark");
+		try {
+			System.out.printf("%10s %8s %14s %14s%n", "size", "keys", "buffered ms", "mapped ms");
+			for (int sizeKb : FILE_SIZES_KB) {
+				Path file = directory.resolve("messages_de_" + sizeKb + ".properties");
+				int keys = writeBundle(file, sizeKb * 1024L, charset);
+
+				// Warm up both paths before measuring
+				measure(file, charset, -1, iterations / 5 + 1);
+				measure(file, charset, 0, iterations / 5 + 1);
+
+				double buffered = measure(file, charset, -1, iterations);
+				double mapped = measure(file, charset, 0, iterations);
+				System.out.printf("%8d KB %8d %14.3f %14.3f%n", sizeKb, keys, buffered, mapped);
+			}
+		} finally {
+			try (var files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
+
+	// Average milliseconds per parse, the entry count is checked so the JIT cannot drop the work
+	private static double measure(Path file, Charset charset, long mmapThreshold, int iterations) throws IOException {
+		long checksum = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			PropertiesEntries entries = PropertiesParser.parse(file, charset, mmapThreshold);
+			checksum += entries.size();
+		}
+		long elapsed = System.nanoTime() - start;
+		if (checksum < 0) {
+			throw new IllegalStateException();
+		}
+		return elapsed / 1_000_000.0 / iterations;
+	}
+
+	// Writes a bundle with typical keys, comments, escapes and umlauts up to the requested size
+	private static int writeBundle(Path file, long size, Charset charset) throws IOException {
+		int keys = 0;
+		long written = 0;
+		try (Writer writer = Files.newBufferedWriter(file, charset)) {
+			while (written < size) {
+				String line;
+				if (keys % 25 == 0) {
+					line = "# Abschnitt " + keys + "\n";
+				} else {
+					line = "module.section" + (keys % 97) + ".label." + keys
+							+ " = \u00dcbersetzung f\u00fcr Schl\u00fcssel " + keys + " mit \u00c4, \u00d6, \u00dc und \\u00df\\n\n";
+				}
+				writer.write(line);
+				written += line.getBytes(charset).length;
+				keys++;
+			}
+		}
+		return keys;
+	}
+}
@@ -0,0 +1,268 @@
+package com.gui.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.gui.model.PropertiesEntries;
+
+/**
+ * Persistent index of all scanned properties files.
+ * Stores path, size, modification time, charset and the parsed key/value content of each file
+ * in "scan-index.dat" next to settings.properties, so a refresh only re-parses changed files.
+ */
+public class ScanIndex {
+
+	private static final Logger logger = Logger.getLogger(ScanIndex.class.getName());
+	private static final String INDEX_FILE = "scan-index.dat";
+	private static final int FORMAT_VERSION = 2;
+	// Path and charset lengths, size, modification time and key count
+	private static final int MIN_FILE_RECORD_BYTES = 28;
+	// Key and value lengths and the line number
+	private static final int MIN_KEY_RECORD_BYTES = 12;
+
+	private static ScanIndex instance;
+
+	private final Path indexPath;
+	private final Map<Path, IndexEntry> entries = new ConcurrentHashMap<>();
+	private volatile boolean dirty;
+
+	/**
+	 * Gets the singleton instance of the ScanIndex, loading it from disk on first use
+	 *
+	 * @return The ScanIndex instance
+	 */
+	public static synchronized ScanIndex getInstance() {
+		if (instance == null) {
+			instance = new ScanIndex(Paths.get(INDEX_FILE));
+			instance.load();
+		}
+		return instance;
+	}
+
+	ScanIndex(Path indexPath) {
+		this.indexPath = indexPath;
+	}
+
+	/**
+	 * Reads the size and modification time of a file
+	 *
+	 * @param path The file to inspect
+	 * @return The attributes of the file
+	 */
+	public static BasicFileAttributes readAttributes(Path path) throws IOException {
+		return Files.readAttributes(path, BasicFileAttributes.class);
+	}
+
+	/**
+	 * Gets the indexed content of a file if size, modification time and charset still match
+	 *
+	 * @param path The file to look up
+	 * @param attributes The current attributes of the file
+	 * @param charset The charset the file is read with
+	 * @return The indexed entries, or null if the file has to be parsed again
+	 */
+	public PropertiesEntries getIfUnchanged(Path path, BasicFileAttributes attributes, Charset charset) {
+		IndexEntry entry = entries.get(path.toAbsolutePath());
+		if (entry == null
+				|| entry.size != attributes.size()
+				|| entry.lastModified != attributes.lastModifiedTime().toMillis()
+				|| !entry.charsetName.equals(charset.name())) {
+			return null;
+		}
+		return entry.entries;
+	}
+
+	/**
+	 * Stores the parsed content of a file
+	 */
+	public void put(Path path, BasicFileAttributes attributes, Charset charset, PropertiesEntries propertiesEntries) {
+		entries.put(path.toAbsolutePath(), new IndexEntry(attributes.size(), attributes.lastModifiedTime().toMillis(),
+				charset.name(), propertiesEntries));
+		dirty = true;
+	}
+
+	/**
+	 * Removes a file from the index
+	 */
+	public void remove(Path path) {
+		if (entries.remove(path.toAbsolutePath()) != null) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Removes a file or all files below a deleted directory from the index
+	 */
+	public void removeUnder(Path path) {
+		Path absolute = path.toAbsolutePath();
+		if (entries.keySet().removeIf(indexed -> indexed.startsWith(absolute))) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Drops all entries whose file was not part of the last scan
+	 *
+	 * @param scannedPaths All files found by the last scan
+	 */
+	public void retainAll(Collection<Path> scannedPaths) {
+		Set<Path> keep = new HashSet<>();
+		for (Path path : scannedPaths) {
+			keep.add(path.toAbsolutePath());
+		}
+		if (entries.keySet().retainAll(keep)) {
+			dirty = true;
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the content of all indexed files
+	 *
+	 * @return A snapshot of the absolute file paths and their parsed entries
+	 */
+	public Map<Path, PropertiesEntries> getFiles() {
+		Map<Path, PropertiesEntries> files = new HashMap<>();
+		entries.forEach((path, entry) -> files.put(path, entry.entries));
+		return files;
+	}
+
+	/**
+	 * Loads the index from disk. A missing, outdated or corrupt index file simply results in an empty index.
+	 */
+	void load() {
+		entries.clear();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath), 1 << 16))) {
+			// No length or count stored in the file can be larger than the file itself
+			long fileSize = Files.size(indexPath);
+			if (in.readInt() != FORMAT_VERSION) {
+				logger.info("Scan index has an outdated format and will be rebuilt");
+				return;
+			}
+			int fileCount = readCount(in, fileSize, MIN_FILE_RECORD_BYTES);
+			for (int i = 0; i < fileCount; i++) {
+				Path path = Paths.get(readString(in, fileSize));
+				long size = in.readLong();
+				long lastModified = in.readLong();
+				String charsetName = readString(in, fileSize);
+				int keyCount = readCount(in, fileSize, MIN_KEY_RECORD_BYTES);
+				PropertiesEntries propertiesEntries = new PropertiesEntries(keyCount);
+				for (int k = 0; k < keyCount; k++) {
+					String key = readString(in, fileSize);
+					String value = readString(in, fileSize);
+					propertiesEntries.put(key, value, in.readInt());
+				}
+				entries.put(path, new IndexEntry(size, lastModified, charsetName, propertiesEntries));
+			}
+			logger.info("Loaded scan index with " + entries.size() + " files");
+		} catch (NoSuchFileException e) {
+			logger.info("No scan index found, all files will be parsed");
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.WARNING, "Error loading scan index, all files will be parsed", e);
+			entries.clear();
+		}
+		dirty = false;
+	}
+
+	/**
+	 * Writes the index to disk if it changed since it was loaded or last saved.
+	 * The file is written to a temporary file first and then moved into place.
+	 */
+	public synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+		Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath), 1 << 16))) {
+				out.writeInt(FORMAT_VERSION);
+				Map<Path, IndexEntry> snapshot = Map.copyOf(entries);
+				out.writeInt(snapshot.size());
+				for (Map.Entry<Path, IndexEntry> entry : snapshot.entrySet()) {
+					IndexEntry indexEntry = entry.getValue();
+					writeString(out, entry.getKey().toString());
+					out.writeLong(indexEntry.size);
+					out.writeLong(indexEntry.lastModified);
+					writeString(out, indexEntry.charsetName);
+					PropertiesEntries propertiesEntries = indexEntry.entries;
+					out.writeInt(propertiesEntries.size());
+					for (int k = 0; k < propertiesEntries.size(); k++) {
+						writeString(out, propertiesEntries.getKey(k));
+						writeString(out, propertiesEntries.getValue(k));
+						out.writeInt(propertiesEntries.getLineNumber(k));
+					}
+				}
+			}
+			Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+			dirty = false;
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Error saving scan index", e);
+		}
+	}
+
+	// DataOutputStream.writeUTF is limited to 64 KB, values of generated bundles may be longer
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in, long fileSize) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > fileSize) {
+			throw new IOException("Corrupt scan index: invalid string length " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the number of following records and checks that they can fit into the file
+	 *
+	 * @param minRecordBytes The size of the smallest possible record
+	 */
+	private static int readCount(DataInputStream in, long fileSize, int minRecordBytes) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || (long) count * minRecordBytes > fileSize) {
+			throw new IOException("Corrupt scan index: invalid count " + count);
+		}
+		return count;
+	}
+
+	private static class IndexEntry {
+		private final long size;
+		private final long lastModified;
+		private final String charsetName;
+		private final PropertiesEntries entries;
+
+		IndexEntry(long size, long lastModified, String charsetName, PropertiesEntries entries) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.charsetName = charsetName;
+			this.entries = entries;
+		}
+	}
+}
@@ -1,30 +1,23 @@
 package com.gui.core;
 
-import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.swing.JOptionPane;
 import javax.swing.JProgressBar;
@@ -32,21 +25,28 @@ import javax.swing.SwingWorker;
 
 import com.gui.TranslationCheckerApp;
 import com.gui.contsants.LanguagesConstant;
-import com.gui.manager.LanguageManager;
+import com.gui.contsants.SettingsConstant;
 import com.gui.manager.SettingsManager;
 import com.gui.model.LanguageProperties;
-import com.gui.services.FileEncodingConverter;
-import com.gui.services.LocaleEncodingService;
+import com.gui.model.PropertiesEntries;
+import com.gui.model.TranslationTableModel;
 import com.gui.ui.ConvertedFilesDialog;
 import com.gui.ui.FileWarningDialog;
 
+/**
+ * Scans the base path with a {@link TranslationScanner} in the background and streams the results into the table
+ */
 public class TranslationCheck {
 
 	Logger logger = Logger.getLogger(getClass().getName());
+	// Rows are handed to the table in chunks of this size, or after this interval at the latest
+	private static final int CHUNK_ROWS = 5000;
+	private static final long PUBLISH_INTERVAL_MS = 250;
 	private final JProgressBar progressBar;
 	private final String BASE_PATH;
 	Properties settings;
 	private final TranslationCheckerApp translationCheckerApp;
+	private SwingWorker<Void, TranslationTableModel.Rows> worker;
 
 	SettingsManager settingsDAO = new SettingsManager();
 
@@ -60,7 +60,8 @@ public class TranslationCheck {
 	public void startTranslationCheck() {
 		progressBar.setValue(0);
 		progressBar.setVisible(true);
-		SwingWorker<Void, Integer> worker = createSwingWorker();
+		translationCheckerApp.clearTable();
+		worker = createSwingWorker();
 		worker.addPropertyChangeListener(evt -> {
 			if ("progress".equals(evt.getPropertyName())) {
 				progressBar.setValue((Integer) evt.getNewValue());
@@ -69,9 +70,26 @@ public class TranslationCheck {
 		worker.execute();
 	}
 
-	private SwingWorker<Void, Integer> createSwingWorker() {
+	/**
+	 * Stops a running scan, rows that were not yet added to the table are discarded
+	 */
+	public void cancel() {
+		if (worker != null) {
+			worker.cancel(true);
+		}
+	}
+
+	private SwingWorker<Void, TranslationTableModel.Rows> createSwingWorker() {
 		return new SwingWorker<>() {
-			final Map<String, String> unreadableFiles = new HashMap<>();
+			volatile TranslationScanner scanner;
+			// Written by the worker thread before scanComplete is set, read on the EDT afterwards
+			long publishedRows;
+			volatile boolean scanComplete;
+			volatile TranslationWatcher watcher;
+			long processedRows;
+			boolean finished;
+			TranslationTableModel.Rows chunk = new TranslationTableModel.Rows(CHUNK_ROWS);
+			long lastPublish = System.currentTimeMillis();
 
 			@Override
 			protected Void doInBackground() throws Exception {
@@ -81,9 +99,6 @@ public class TranslationCheck {
 				// Show initial status message
 				translationCheckerApp.setStatusLabel("Initializing file collection...");
 
-				Map<LanguagesConstant, List<LanguageProperties>> propertiesMap = new HashMap<>();
-				List<String[]> convertedFiles = new ArrayList<>();
-
 				boolean searchUnsetOnly = Boolean.parseBoolean(settings.getProperty("search.unset.only", "false"));
 				boolean convertFiles = Boolean.parseBoolean(settings.getProperty("convert.files", "false"));
 
@@ -96,20 +111,7 @@ public class TranslationCheck {
 				}
 
 				// Get all user-selected languages from LanguageManager
-				LanguageManager languageManager = LanguageManager.getInstance();
-				Map<String, Locale> userLanguages = languageManager.getAvailableLanguages();
-				
-				// Convert to LanguagesConstant array for backward compatibility
-				List<LanguagesConstant> selectedLanguages = new ArrayList<>();
-				for (LanguagesConstant lang : LanguagesConstant.values()) {
-					String langCode = lang.getLanguageCode();
-					if (userLanguages.containsKey(langCode)) {
-						selectedLanguages.add(lang);
-					}
-				}
-				
-				LanguagesConstant[] languages = selectedLanguages.toArray(new LanguagesConstant[0]);
-				int totalLanguages = languages.length;
+				LanguagesConstant[] languages = TranslationScanner.getSelectedLanguages();
 				
 				// Log the languages being processed
 				logger.info("Processing languages: " + Arrays.toString(languages));
@@ -117,107 +119,83 @@ public class TranslationCheck {
 				// Show initial status that we're about to search for files
 				translationCheckerApp.setStatusLabel("Initializing: Preparing to search for all language files...");
 				setProgress(5); // Small initial progress
-				
-				// First phase: Find all property files for all languages
-				Map<LanguagesConstant, List<Path>> allLanguageFiles = new HashMap<>();
-				int languageCount = 0;
-				
-				// Estimate total files to process
-				for (LanguagesConstant lang : languages) {
-					translationCheckerApp.setStatusLabel("Finding " + lang.name() + " files... (" + languageCount + "/" + totalLanguages + " languages)");
-					
-					List<Path> foundFiles = findAllPropertiesFiles(BASE_PATH, lang);
-					allLanguageFiles.put(lang, foundFiles);
-					
-					languageCount++;
-					// Update progress for file discovery phase (up to 30%)
-					int fileDiscoveryProgress = (int)((double)languageCount / totalLanguages * 30);
-					setProgress(5 + fileDiscoveryProgress);
-				}
-				
-				// Show total files found across all languages
-				int totalFilesFound = allLanguageFiles.values().stream().mapToInt(List::size).sum();
-				translationCheckerApp.setStatusLabel("Processing " + totalFilesFound + " files across " + totalLanguages + " languages");
-				setProgress(35); // Progress after file discovery phase
-				
-				// Second phase: Process all the files we found
-				languageCount = 0;
-				int processedFiles = 0;
-				
-				for (LanguagesConstant lang : languages) {
-					translationCheckerApp.setStatusLabel("Processing " + lang.name() + " files... (Language " + (languageCount+1) + "/" + totalLanguages + ")");
-					
-					List<Path> paths = allLanguageFiles.get(lang);
-					int totalFiles = paths.size();
-					translationCheckerApp.setStatusLabel("Processing " + lang.name() + ": " + totalFiles + " files");
-					
-					Charset inputEncoding = lang.getEncoding();
-					int completedSteps = 0;
-
-					int totalStepsForLanguage = paths.size();
-					for (Path path : paths) {
-						// Update file-specific status
-						String fileName = path.getFileName().toString();
-						translationCheckerApp.setStatusLabel("Processing " + lang.name() + ": " + fileName + " (" + completedSteps + "/" + totalStepsForLanguage + ")");
-						
-						Properties properties = new Properties();
-
-						FileEncodingConverter converter = new FileEncodingConverter();
-						path = converter.convertFile(lang.name(), path, convertFiles, inputEncoding, convertedFiles);
-						unreadableFiles.putAll(converter.getUnreadableFiles());
-
-						try (BufferedReader reader = Files.newBufferedReader(path, inputEncoding)) {
-							properties.load(reader);
-							for (String key : properties.stringPropertyNames()) {
-								String value = properties.getProperty(key);
-								System.out.println("Loaded key: " + key + " with value: " + value);
-							}
-						} catch (Exception e) {
-							handleFileError(path, e, unreadableFiles, inputEncoding, lang.getLocale().getLanguage());
+
+				// Parsed files are turned into table rows right away and streamed to the table in chunks
+				scanner = new TranslationScanner(settings, BASE_PATH, languages, new TranslationScanner.Listener() {
+					@Override
+					public void fileParsed(LanguageProperties languageProperties) {
+						chunk.addFile(languageProperties, searchUnsetOnly);
+					}
+
+					@Override
+					public void idle() {
+						long now = System.currentTimeMillis();
+						if (chunk.size() >= CHUNK_ROWS || (chunk.size() > 0 && now - lastPublish >= PUBLISH_INTERVAL_MS)) {
+							publishRows(chunk);
+							chunk = new TranslationTableModel.Rows(CHUNK_ROWS);
+							lastPublish = now;
 						}
+					}
 
-						propertiesMap.computeIfAbsent(lang, k -> new ArrayList<>())
-								.add(new LanguageProperties(properties, path));
+					@Override
+					public void statusChanged(String status) {
+						SwingUtilities.invokeLater(() -> translationCheckerApp.setStatusLabel(status));
+					}
 
-						// Update progress
-						completedSteps++;
-						processedFiles++;
-						
-						// Calculate overall progress (35% for discovery + 60% for processing)
-						int processingProgress = (int)(((double)processedFiles / totalFilesFound) * 60);
-						setProgress(35 + processingProgress);
+					@Override
+					public void progressChanged(int progress) {
+						setProgress(progress);
 					}
+				});
+				scanner.setScanIndex(ScanIndex.getInstance());
+				scanner.setBundleIndex(BundleIndex.getInstance());
+				scanner.setConvertFiles(convertFiles);
+				scanner.scan();
+				publishRows(chunk);
 
-					if (!convertedFiles.isEmpty()) {
-						ConvertedFilesDialog convertedFilesDialog = new ConvertedFilesDialog();
-						convertedFilesDialog.show(convertedFiles);
+				// The watcher is registered here, but only started once all rows are in the table
+				if (Boolean.parseBoolean(SettingsConstant.getSettingValue(settings, SettingsConstant.WATCH_MODE))) {
+					watcher = createWatcher(scanner.getScannedDirectories(), languages, searchUnsetOnly);
+					if (isCancelled() && watcher != null) {
+						watcher.close();
+						watcher = null;
 					}
 				}
-
-				// Update the table with the properties
-				translationCheckerApp.updateTable(propertiesMap, searchUnsetOnly);
+				scanComplete = true;
 				return null;
 			}
 
-			private void handleFileError(Path path, Exception e, Map<String, String> unreadableFiles, Charset inputEncoding, String language) {
-				String message = e.getMessage();
+			private void publishRows(TranslationTableModel.Rows rows) {
+				if (rows.size() > 0) {
+					publishedRows += rows.size();
+					publish(rows);
+				}
+			}
 
-				if (message == null || message.isEmpty()) {
-					message = "Unknown error: " + e.getClass().getSimpleName();
+			@Override
+			protected void process(List<TranslationTableModel.Rows> chunks) {
+				if (isCancelled()) {
+					return;
+				}
+				translationCheckerApp.appendRows(chunks);
+				for (TranslationTableModel.Rows rows : chunks) {
+					processedRows += rows.size();
 				}
+				finishIfComplete();
+			}
 
-				if (message.contains("Input length =")) {
-					boolean encodingExists = Arrays.stream(LanguagesConstant.values())
-							.anyMatch(lang -> lang.getEncoding().equals(inputEncoding));
-					if (!encodingExists) {
-						unreadableFiles.put(path.toString(), "Encoding not supported: " + inputEncoding + " (" + message + ")");
-					} else if (!inputEncoding.equals(LocaleEncodingService.getLocaleWithEncoding(language).getEncoding())) {
-						unreadableFiles.put(path.toString(), "Wrong encoding detected: " + inputEncoding);
-					} else {
-						unreadableFiles.put(path.toString(), "Malformed input detected: " + message + " (Encoding: " + inputEncoding + ")");
-					}
-				} else {
-					unreadableFiles.put(path.toString(), message);
+			/**
+			 * Sorts the table and starts watching once the scan is done and every published chunk was processed.
+			 * Chunks are delivered by a timer, so done() may run before the last chunk arrived.
+			 */
+			private void finishIfComplete() {
+				if (finished || !scanComplete || processedRows < publishedRows) {
+					return;
+				}
+				finished = true;
+				translationCheckerApp.finishTable();
+				if (watcher != null) {
+					translationCheckerApp.setTranslationWatcher(watcher);
 				}
 			}
 
@@ -225,11 +203,26 @@ public class TranslationCheck {
 			protected void done() {
 				progressBar.setVisible(false);
 				setProgress(0);
+				if (isCancelled()) {
+					if (watcher != null) {
+						watcher.close();
+					}
+					return;
+				}
 				try {
 					get();
+					finishIfComplete();
+					if (scanner == null) {
+						return;
+					}
 
-					if (!unreadableFiles.isEmpty()) {
-						FileWarningDialog.show(unreadableFiles, "The following files could not be read:");
+					if (!scanner.getConvertedFiles().isEmpty()) {
+						ConvertedFilesDialog convertedFilesDialog = new ConvertedFilesDialog();
+						convertedFilesDialog.show(scanner.getConvertedFiles());
+					}
+
+					if (!scanner.getUnreadableFiles().isEmpty()) {
+						FileWarningDialog.show(scanner.getUnreadableFiles(), "The following files could not be read:");
 					}
 
 				} catch (InterruptedException | ExecutionException e) {
@@ -239,151 +232,69 @@ public class TranslationCheck {
 		};
 	}
 
-	// Helper method to search for properties files with progress updates using parallel processing
-	private List<Path> findAllPropertiesFiles(String basePath, LanguagesConstant lang) throws IOException {
-		// Update status label to show which language is being searched
-		translationCheckerApp.setStatusLabel("Searching for " + lang.name() + " files...");
-		SwingUtilities.invokeLater(() -> translationCheckerApp.setStatusLabel("Searching for " + lang.name() + " files..."));
-
-		// Use lang.getLocale().getLanguage() instead of getLocale().toString()
-		String prefix = "messages_" + lang.getLocale().getLanguage();
-		List<Path> resultFiles = Collections.synchronizedList(new ArrayList<>());
-		
-		// First count how many total directories we'll be processing to provide accurate progress
-		long startTime = System.currentTimeMillis();
-		List<Path> topDirs = new ArrayList<>();
-		
-		// Update the UI to show we're scanning the directory structure
-		SwingUtilities.invokeLater(() -> {
-			translationCheckerApp.setStatusLabel("Scanning directory structure for " + lang.name() + "...");
-			translationCheckerApp.updateProgressUI();
-		});
-		
-		// Get all directories to search, but do it more efficiently
-		try (Stream<Path> dirs = Files.walk(Paths.get(basePath), 1)) {
-			topDirs = dirs.filter(Files::isDirectory)
-					.filter(path -> !path.equals(Paths.get(basePath)))
-					.filter(path -> !path.toString().contains("bin"))
-					.filter(path -> !path.toString().contains("build"))
-					.filter(path -> !path.toString().contains(".idea"))
-					.collect(Collectors.toList());
+	/**
+	 * Creates a watcher for the scanned directories which applies changes incrementally to the table
+	 *
+	 * @return The watcher, not yet started, or null if watching is not possible
+	 */
+	private TranslationWatcher createWatcher(List<Path> scannedDirectories, LanguagesConstant[] languages,
+			boolean searchUnsetOnly) {
+		Map<String, LanguagesConstant> prefixOrder = TranslationScanner.createPrefixOrder(languages);
+		try {
+			return new TranslationWatcher(scannedDirectories,
+					TranslationScanner::isScannedDirectory,
+					batch -> applyWatchBatch(batch, prefixOrder, searchUnsetOnly),
+					() -> SwingUtilities.invokeLater(translationCheckerApp::refresh));
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Could not start watch mode", e);
+			return null;
 		}
-		
-		// Show how many directories we'll be searching
-		final int totalDirs = topDirs.size();
-		SwingUtilities.invokeLater(() -> {
-			translationCheckerApp.setStatusLabel("Found " + totalDirs + " directories to search for " + lang.name() + "...");
-			translationCheckerApp.updateProgressUI();
-		});
-		
-		// Create an atomic counter for progress tracking
-		final AtomicInteger processedDirs = new AtomicInteger(0);
-		final AtomicInteger totalFilesFound = new AtomicInteger(0);
-		
-		// Use a thread pool with a fixed number of threads for parallel processing
-		int numThreads = Math.min(Runtime.getRuntime().availableProcessors(), totalDirs);
-		if (numThreads < 1) numThreads = 1; // Ensure at least one thread
-		
-		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
-		List<Future<List<Path>>> futures = new ArrayList<>();
-		
-		// Submit directory search tasks to the thread pool
-		for (Path dir : topDirs) {
-			futures.add(executor.submit(() -> {
-				List<Path> dirResults = new ArrayList<>();
-				
-				// Find property files in this directory
-				try (Stream<Path> files = Files.walk(dir)) {
-					List<Path> foundFiles = files
-							.filter(path -> {
-								String fileName = path.getFileName().toString();
-								return fileName.startsWith(prefix) && fileName.endsWith(".properties");
-							})
-							.filter(path -> !path.toString().contains("bin" + File.separator))
-							.filter(path -> !path.toString().contains("build" + File.separator))
-							.filter(path -> !path.toString().contains(".idea" + File.separator))
-							.collect(Collectors.toList());
-					
-					dirResults.addAll(foundFiles);
-					
-					// Update the shared results list
-					resultFiles.addAll(foundFiles);
-					
-					// Update progress counters
-					int currentDir = processedDirs.incrementAndGet();
-					int filesFound = totalFilesFound.addAndGet(foundFiles.size());
-					
-					// Update UI with progress
-					final String progressText = String.format("Searching %s: %s (%d/%d - %d%%) - %d files found", 
-							lang.name(), 
-							dir.getFileName().toString(),
-							currentDir,
-							totalDirs,
-							(currentDir * 100 / totalDirs),
-							filesFound);
-					
-					SwingUtilities.invokeLater(() -> {
-						translationCheckerApp.setStatusLabel(progressText);
-						translationCheckerApp.updateProgressUI();
-					});
-				}
-				
-				return dirResults;
-			}));
+	}
+
+	/**
+	 * Re-parses the changed files of a watcher batch and updates index and table in one step.
+	 * Files are not converted in watch mode, because the conversion itself would trigger new events.
+	 */
+	private void applyWatchBatch(TranslationWatcher.ChangeBatch batch, Map<String, LanguagesConstant> prefixOrder,
+			boolean searchUnsetOnly) {
+		ScanIndex scanIndex = ScanIndex.getInstance();
+		BundleIndex bundleIndex = BundleIndex.getInstance();
+		Map<String, String> unreadableFiles = new HashMap<>();
+		Map<LanguagesConstant, List<LanguageProperties>> changedFiles = new HashMap<>();
+		Set<Path> affectedPaths = new HashSet<>(batch.getDeletedPaths());
+		long mmapThreshold = TranslationScanner.getMmapThreshold(settings);
+
+		for (Path deleted : batch.getDeletedPaths()) {
+			scanIndex.removeUnder(deleted);
+			bundleIndex.removeUnder(deleted);
 		}
-		
-		// Also check the base directory itself for properties files in parallel
-		Future<List<Path>> baseDirFuture = executor.submit(() -> {
-			SwingUtilities.invokeLater(() -> {
-				translationCheckerApp.setStatusLabel("Checking base directory for " + lang.name() + " files...");
-				translationCheckerApp.updateProgressUI();
-			});
-			
-			List<Path> baseResults = new ArrayList<>();
-			try (Stream<Path> files = Files.list(Paths.get(basePath))) {
-				List<Path> foundFiles = files
-						.filter(path -> {
-							String fileName = path.getFileName().toString();
-							return fileName.startsWith(prefix) && fileName.endsWith(".properties");
-						})
-						.collect(Collectors.toList());
-				
-				baseResults.addAll(foundFiles);
-				resultFiles.addAll(foundFiles);
-				totalFilesFound.addAndGet(foundFiles.size());
+
+		for (Path path : batch.getChangedFiles()) {
+			LanguagesConstant lang = TranslationScanner.matchLanguage(path.getFileName().toString(), prefixOrder);
+			if (lang == null) {
+				continue;
 			}
-			
-			return baseResults;
-		});
-		
-		// Wait for all tasks to complete
-		try {
-			// Wait for all directory searches to complete
-			for (Future<List<Path>> future : futures) {
-				future.get();
+			affectedPaths.add(path);
+
+			try {
+				BasicFileAttributes attributes = ScanIndex.readAttributes(path);
+				PropertiesEntries properties = TranslationScanner.parseFile(path, lang.getEncoding(), mmapThreshold);
+				scanIndex.put(path, attributes, lang.getEncoding(), properties);
+				LanguageProperties languageProperties = new LanguageProperties(lang, properties, path);
+				bundleIndex.put(languageProperties);
+				changedFiles.computeIfAbsent(lang, k -> new ArrayList<>()).add(languageProperties);
+			} catch (NoSuchFileException e) {
+				// Deleted again before we got to read it
+				scanIndex.remove(path);
+				bundleIndex.remove(path);
+			} catch (Exception e) {
+				scanIndex.remove(path);
+				bundleIndex.remove(path);
+				TranslationScanner.handleFileError(path, e, unreadableFiles, lang.getEncoding(), lang.getLocale().getLanguage());
 			}
-			
-			// Wait for base directory search
-			baseDirFuture.get();
-			
-		} catch (InterruptedException | ExecutionException e) {
-			logger.log(Level.SEVERE, "Error during parallel file search", e);
-		} finally {
-			// Shutdown the executor service
-			executor.shutdown();
 		}
-		
-		// Calculate elapsed time for this language search
-		long elapsedTime = System.currentTimeMillis() - startTime;
-		final String timeFormatted = String.format("%.1f", elapsedTime / 1000.0);
-		
-		// Update status with the number of files found and time taken
-		final String finalStatus = "Found " + resultFiles.size() + " " + lang.name() + " files in " + timeFormatted + " seconds";
-		SwingUtilities.invokeLater(() -> {
-			translationCheckerApp.setStatusLabel(finalStatus);
-			translationCheckerApp.updateProgressUI();
-		});
-		
-		return resultFiles;
+
+		unreadableFiles.forEach((file, error) -> logger.warning("Could not read changed file " + file + ": " + error));
+		SwingUtilities.invokeLater(() -> translationCheckerApp.applyFileChanges(affectedPaths, changedFiles, searchUnsetOnly));
 	}
-}
+}
\ No newline at end of file
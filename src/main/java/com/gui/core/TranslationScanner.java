@@ -0,0 +1,571 @@
+package com.gui.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.gui.contsants.LanguagesConstant;
+import com.gui.contsants.SettingsConstant;
+import com.gui.manager.LanguageManager;
+import com.gui.model.LanguageProperties;
+import com.gui.model.PropertiesEntries;
+import com.gui.services.FileEncodingConverter;
+import com.gui.services.LocaleEncodingService;
+
+/**
+ * Finds and parses the properties files of the given languages below a base path, without any UI.
+ * Discovery runs on its own thread and hands every file to the parse pool as soon as it is found, the parse pool
+ * feeds a bounded queue which is drained on the scanning thread, so parsing never runs too far ahead of the consumer.
+ * Used by the table scan of the GUI and by the command line.
+ */
+public class TranslationScanner {
+
+	private static final Logger logger = Logger.getLogger(TranslationScanner.class.getName());
+	private static final int PARSED_QUEUE_CAPACITY = 256;
+	// Values like "Text (de)" are unset translations that were copied from another language
+	private static final Pattern LANGUAGE_CODE_PATTERN = Pattern.compile(".*\\((\\w{2})\\)$");
+	// Prefixes of the errors of files that could not be decoded with the charset of their language
+	private static final String[] ENCODING_ERRORS = { "Encoding not supported: ", "Wrong encoding detected: ",
+			"Malformed input detected: " };
+
+	private final Properties settings;
+	private final String basePath;
+	private final LanguagesConstant[] languages;
+	private final Listener listener;
+	private ScanIndex scanIndex;
+	private BundleIndex bundleIndex;
+	private boolean convertFiles;
+
+	private final Set<Path> scannedDirectories = ConcurrentHashMap.newKeySet();
+	private final Map<String, String> unreadableFiles = new ConcurrentHashMap<>();
+	private final List<String[]> convertedFiles = Collections.synchronizedList(new ArrayList<>());
+	private final AtomicInteger submittedFiles = new AtomicInteger();
+	private final AtomicInteger finishedFiles = new AtomicInteger();
+	private final AtomicInteger consumedFiles = new AtomicInteger();
+	private final AtomicInteger reusedFiles = new AtomicInteger();
+	private volatile int discoveryProgress;
+	private int progress;
+
+	/**
+	 * Receives the parsed files and the state of a scan
+	 */
+	public interface Listener {
+
+		/**
+		 * Called on the scanning thread for every parsed file
+		 */
+		void fileParsed(LanguageProperties languageProperties);
+
+		/**
+		 * Called on the scanning thread after every file and at least every 100 ms while waiting for files
+		 */
+		default void idle() {
+		}
+
+		/**
+		 * Called on any thread with a human-readable description of the current step
+		 */
+		default void statusChanged(String status) {
+		}
+
+		/**
+		 * Called on any thread when the overall progress in percent increased
+		 */
+		default void progressChanged(int progress) {
+		}
+	}
+
+	/**
+	 * @param settings  The settings, for the parse threads and the mmap threshold
+	 * @param basePath  The directory to scan
+	 * @param languages The languages whose files are scanned
+	 * @param listener  Receives the parsed files
+	 */
+	public TranslationScanner(Properties settings, String basePath, LanguagesConstant[] languages, Listener listener) {
+		this.settings = settings;
+		this.basePath = basePath;
+		this.languages = languages;
+		this.listener = listener;
+	}
+
+	/**
+	 * Sets the index used to skip unchanged files, null parses every file
+	 */
+	public void setScanIndex(ScanIndex scanIndex) {
+		this.scanIndex = scanIndex;
+	}
+
+	/**
+	 * Sets the index that is rebuilt with the bundle families of this scan, null builds none
+	 */
+	public void setBundleIndex(BundleIndex bundleIndex) {
+		this.bundleIndex = bundleIndex;
+	}
+
+	/**
+	 * Sets whether files are converted to the encoding of their language before they are parsed
+	 */
+	public void setConvertFiles(boolean convertFiles) {
+		this.convertFiles = convertFiles;
+	}
+
+	/**
+	 * Gets the languages selected in the language settings
+	 */
+	public static LanguagesConstant[] getSelectedLanguages() {
+		Map<String, Locale> userLanguages = LanguageManager.getInstance().getAvailableLanguages();
+		return Arrays.stream(LanguagesConstant.values())
+				.filter(lang -> userLanguages.containsKey(lang.getLanguageCode()))
+				.toArray(LanguagesConstant[]::new);
+	}
+
+	/**
+	 * Checks whether a value is an unset translation: empty, or marked with the language it was copied from, e.g. "Text (de)"
+	 *
+	 * @param value The trimmed value
+	 */
+	public static boolean isUnset(String value) {
+		return value.isEmpty() || isMarked(value);
+	}
+
+	/**
+	 * Checks whether a value is marked with the language it was copied from, e.g. "Text (de)"
+	 *
+	 * @param value The trimmed value
+	 */
+	public static boolean isMarked(String value) {
+		return value.endsWith(")") && LANGUAGE_CODE_PATTERN.matcher(value).matches();
+	}
+
+	/**
+	 * Checks whether the error of an unreadable file means that the file does not match the encoding of its language
+	 *
+	 * @param error The error from {@link #getUnreadableFiles()}
+	 */
+	public static boolean isEncodingError(String error) {
+		for (String prefix : ENCODING_ERRORS) {
+			if (error.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Scans the base path and hands every parsed file to the listener. Returns once all files were handed over.
+	 */
+	public void scan() throws IOException, InterruptedException {
+		long mmapThreshold = getMmapThreshold(settings);
+		ExecutorService parseExecutor = Executors.newFixedThreadPool(getParseThreadCount(settings));
+		BlockingQueue<LanguageProperties> parsedFiles = new ArrayBlockingQueue<>(PARSED_QUEUE_CAPACITY);
+
+		if (bundleIndex != null) {
+			bundleIndex.clear();
+		}
+
+		listener.statusChanged("Finding files for " + languages.length + " languages...");
+		CompletableFuture<Map<LanguagesConstant, List<Path>>> discovery = CompletableFuture.supplyAsync(() -> {
+			try {
+				return findAllPropertiesFiles(progress -> {
+					discoveryProgress = progress;
+					updateProgress();
+				}, (lang, path) -> {
+					submittedFiles.incrementAndGet();
+					parseExecutor.execute(() -> parseInto(parsedFiles, lang, path, mmapThreshold));
+				});
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+
+		// Only the paths of the scanned files are kept until the scan is done
+		List<Path> scannedPaths = new ArrayList<>();
+		try {
+			while (!(discovery.isDone() && finishedFiles.get() == submittedFiles.get() && parsedFiles.isEmpty())) {
+				LanguageProperties languageProps = parsedFiles.poll(100, TimeUnit.MILLISECONDS);
+				if (languageProps != null) {
+					scannedPaths.add(languageProps.getPath());
+					if (bundleIndex != null && !unreadableFiles.containsKey(languageProps.getPath().toString())) {
+						bundleIndex.put(languageProps);
+					}
+					listener.fileParsed(languageProps);
+
+					// Update file-specific status and overall progress
+					int consumed = consumedFiles.incrementAndGet();
+					listener.statusChanged("Processing " + languageProps.getLanguage().name() + ": "
+							+ languageProps.getPath().getFileName() + " (" + consumed + "/" + submittedFiles.get() + ")");
+					updateProgress();
+				}
+				listener.idle();
+			}
+			// Rethrows discovery errors
+			discovery.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			throw e;
+		} finally {
+			parseExecutor.shutdownNow();
+		}
+
+		if (scanIndex != null) {
+			// Forget files that no longer exist and persist the index for the next refresh
+			scanIndex.retainAll(scannedPaths);
+			scanIndex.save();
+		}
+		logger.info("Parsed " + (submittedFiles.get() - reusedFiles.get()) + " files, reused " + reusedFiles.get()
+				+ " files from the scan index");
+	}
+
+	/**
+	 * Gets the files that could not be read, with their error message.
+	 * The error of a file is added before the file is handed to {@link Listener#fileParsed(LanguageProperties)}.
+	 */
+	public Map<String, String> getUnreadableFiles() {
+		return unreadableFiles;
+	}
+
+	/**
+	 * Gets path, old and new encoding of every converted file
+	 */
+	public List<String[]> getConvertedFiles() {
+		return convertedFiles;
+	}
+
+	/**
+	 * Gets the base path and every directory below it that was scanned
+	 */
+	public List<Path> getScannedDirectories() {
+		return new ArrayList<>(scannedDirectories);
+	}
+
+	/**
+	 * Gets the number of files that were found
+	 */
+	public int getFileCount() {
+		return submittedFiles.get();
+	}
+
+	/**
+	 * Converts and parses one file on the parse pool and hands the result to the consumer.
+	 * Blocks while the queue is full, so parsing never runs too far ahead of the consumer.
+	 */
+	private void parseInto(BlockingQueue<LanguageProperties> parsedFiles, LanguagesConstant lang, Path path,
+			long mmapThreshold) {
+		try {
+			Charset inputEncoding = lang.getEncoding();
+			// One converter per task, failures go straight into the concurrent map of the scanner
+			FileEncodingConverter converter = new FileEncodingConverter(unreadableFiles);
+			path = converter.convertFile(lang.name(), path, convertFiles, inputEncoding, convertedFiles);
+			if (path == null) {
+				// Conversion failed, the converter already reported the file as unreadable
+				return;
+			}
+
+			PropertiesEntries properties = new PropertiesEntries();
+			try {
+				// Reuse the indexed content if the file did not change since the last scan
+				BasicFileAttributes attributes = ScanIndex.readAttributes(path);
+				PropertiesEntries indexed = scanIndex != null ? scanIndex.getIfUnchanged(path, attributes, inputEncoding) : null;
+				if (indexed != null) {
+					properties = indexed;
+					reusedFiles.incrementAndGet();
+				} else {
+					properties = parseFile(path, inputEncoding, mmapThreshold);
+					if (scanIndex != null) {
+						scanIndex.put(path, attributes, inputEncoding, properties);
+					}
+				}
+			} catch (Exception e) {
+				handleFileError(path, e, unreadableFiles, inputEncoding, lang.getLocale().getLanguage());
+			}
+			parsedFiles.put(new LanguageProperties(lang, properties, path));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			finishedFiles.incrementAndGet();
+		}
+	}
+
+	// Discovery counts for 30%, processing for 60% of the progress, the first 5% are the preparation
+	private synchronized void updateProgress() {
+		int submitted = submittedFiles.get();
+		int processingProgress = submitted == 0 ? 0 : consumedFiles.get() * 60 / submitted;
+		int newProgress = Math.min(5 + discoveryProgress * 30 / 100 + processingProgress, 100);
+		if (newProgress > progress) {
+			progress = newProgress;
+			listener.progressChanged(newProgress);
+		}
+	}
+
+	/**
+	 * Gets the size of the parse pool from the "scan.threads" setting, 0 means one thread per core
+	 */
+	static int getParseThreadCount(Properties settings) {
+		int threads = 0;
+		try {
+			threads = Integer.parseInt(SettingsConstant.getSettingValue(settings, SettingsConstant.SCAN_THREADS).trim());
+		} catch (NumberFormatException e) {
+			logger.warning("Invalid value for " + SettingsConstant.SCAN_THREADS.getKey() + ", using one thread per core");
+		}
+		return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Gets the file size in bytes above which files are memory-mapped from the "scan.mmap.threshold" setting,
+	 * a negative value disables mapping
+	 */
+	static long getMmapThreshold(Properties settings) {
+		try {
+			return Long.parseLong(SettingsConstant.getSettingValue(settings, SettingsConstant.SCAN_MMAP_THRESHOLD).trim());
+		} catch (NumberFormatException e) {
+			logger.warning("Invalid value for " + SettingsConstant.SCAN_MMAP_THRESHOLD.getKey() + ", using the default");
+			return Long.parseLong(SettingsConstant.SCAN_MMAP_THRESHOLD.getDefaultValue());
+		}
+	}
+
+	/**
+	 * Checks whether a directory is part of the scan, skipping build output and IDE folders
+	 */
+	static boolean isScannedDirectory(Path dir) {
+		String path = dir.toString() + File.separator;
+		return !path.contains("bin" + File.separator)
+				&& !path.contains("build" + File.separator)
+				&& !path.contains(".idea" + File.separator);
+	}
+
+	static PropertiesEntries parseFile(Path path, Charset encoding, long mmapThreshold) throws IOException {
+		PropertiesEntries properties = PropertiesParser.parse(path, encoding, mmapThreshold);
+		logger.log(Level.FINE, () -> "Loaded " + properties.size() + " keys from " + path);
+		return properties;
+	}
+
+	static void handleFileError(Path path, Exception e, Map<String, String> unreadableFiles, Charset inputEncoding, String language) {
+		String message = e.getMessage();
+
+		if (message == null || message.isEmpty()) {
+			message = "Unknown error: " + e.getClass().getSimpleName();
+		}
+
+		if (message.contains("Input length =")) {
+			boolean encodingExists = Arrays.stream(LanguagesConstant.values())
+					.anyMatch(lang -> lang.getEncoding().equals(inputEncoding));
+			if (!encodingExists) {
+				unreadableFiles.put(path.toString(), ENCODING_ERRORS[0] + inputEncoding + " (" + message + ")");
+			} else if (!inputEncoding.equals(LocaleEncodingService.getLocaleWithEncoding(language).getEncoding())) {
+				unreadableFiles.put(path.toString(), ENCODING_ERRORS[1] + inputEncoding);
+			} else {
+				unreadableFiles.put(path.toString(), ENCODING_ERRORS[2] + message + " (Encoding: " + inputEncoding + ")");
+			}
+		} else {
+			unreadableFiles.put(path.toString(), message);
+		}
+	}
+
+	// Helper method to search for the properties files of all languages in one parallel walk
+	private Map<LanguagesConstant, List<Path>> findAllPropertiesFiles(IntConsumer progressCallback,
+			BiConsumer<LanguagesConstant, Path> fileConsumer) throws IOException {
+		listener.statusChanged("Searching for " + languages.length + " languages...");
+
+		Map<String, LanguagesConstant> prefixOrder = createPrefixOrder(languages);
+
+		Map<LanguagesConstant, List<Path>> resultFiles = new ConcurrentHashMap<>();
+		for (LanguagesConstant lang : languages) {
+			resultFiles.put(lang, Collections.synchronizedList(new ArrayList<>()));
+		}
+
+		long startTime = System.currentTimeMillis();
+		List<Path> topDirs;
+
+		// Show that we're scanning the directory structure
+		listener.statusChanged("Scanning directory structure...");
+
+		// Get all directories to search, but do it more efficiently
+		try (Stream<Path> dirs = Files.walk(Paths.get(basePath), 1)) {
+			topDirs = dirs.filter(Files::isDirectory)
+					.filter(path -> !path.equals(Paths.get(basePath)))
+					.filter(path -> !path.toString().contains("bin"))
+					.filter(path -> !path.toString().contains("build"))
+					.filter(path -> !path.toString().contains(".idea"))
+					.collect(Collectors.toList());
+		}
+		scannedDirectories.clear();
+		scannedDirectories.add(Paths.get(basePath));
+
+		// Show how many directories we'll be searching
+		final int totalDirs = topDirs.size();
+		listener.statusChanged("Found " + totalDirs + " directories to search...");
+
+		// Create an atomic counter for progress tracking
+		final AtomicInteger processedDirs = new AtomicInteger(0);
+		final AtomicInteger totalFilesFound = new AtomicInteger(0);
+
+		// Use a thread pool with a fixed number of threads for parallel processing
+		int numThreads = Math.min(Runtime.getRuntime().availableProcessors(), totalDirs);
+		if (numThreads < 1) numThreads = 1; // Ensure at least one thread
+
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		List<Future<?>> futures = new ArrayList<>();
+
+		// Submit directory search tasks to the thread pool
+		for (Path dir : topDirs) {
+			futures.add(executor.submit(() -> {
+				// Sort every properties file of this directory into its language bucket
+				AtomicInteger foundInDir = new AtomicInteger(0);
+				Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+					@Override
+					public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs) {
+						if (!isScannedDirectory(subDir)) {
+							return FileVisitResult.SKIP_SUBTREE;
+						}
+						scannedDirectories.add(subDir);
+						return FileVisitResult.CONTINUE;
+					}
+
+					@Override
+					public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+						if (path.getFileName().toString().endsWith(".properties")) {
+							foundInDir.addAndGet(addToLanguageBucket(path, prefixOrder, resultFiles, fileConsumer));
+						}
+						return FileVisitResult.CONTINUE;
+					}
+
+					@Override
+					public FileVisitResult visitFileFailed(Path path, IOException e) {
+						logger.log(Level.WARNING, "Could not read: " + path, e);
+						return FileVisitResult.CONTINUE;
+					}
+				});
+				int foundFiles = foundInDir.get();
+				// Update progress counters
+				int currentDir = processedDirs.incrementAndGet();
+				int filesFound = totalFilesFound.addAndGet(foundFiles);
+				progressCallback.accept(currentDir * 100 / totalDirs);
+
+				// Report progress
+				listener.statusChanged(String.format("Searching: %s (%d/%d - %d%%) - %d files found",
+						dir.getFileName().toString(),
+						currentDir,
+						totalDirs,
+						(currentDir * 100 / totalDirs),
+						filesFound));
+				return null;
+			}));
+		}
+
+		// Also check the base directory itself for properties files in parallel
+		futures.add(executor.submit(() -> {
+			listener.statusChanged("Checking base directory...");
+
+			try (Stream<Path> files = Files.list(Paths.get(basePath))) {
+				int foundFiles = files
+						.filter(path -> path.getFileName().toString().endsWith(".properties"))
+						.mapToInt(path -> addToLanguageBucket(path, prefixOrder, resultFiles, fileConsumer))
+						.sum();
+				totalFilesFound.addAndGet(foundFiles);
+			}
+			return null;
+		}));
+
+		// Wait for all tasks to complete
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			logger.log(Level.SEVERE, "Error during parallel file search", e);
+		} finally {
+			// Shutdown the executor service
+			executor.shutdown();
+		}
+		progressCallback.accept(100);
+
+		// Calculate elapsed time for the search
+		long elapsedTime = System.currentTimeMillis() - startTime;
+		final String timeFormatted = String.format("%.1f", elapsedTime / 1000.0);
+
+		// Report the number of files found and time taken
+		listener.statusChanged("Found " + totalFilesFound.get() + " files for " + languages.length + " languages in " + timeFormatted + " seconds");
+
+		return resultFiles;
+	}
+
+	/**
+	 * Maps the "messages_<lang>" file name prefix of each language to the language.
+	 * Sorted by descending prefix length, so that a longer language code always wins over a shorter one.
+	 */
+	static Map<String, LanguagesConstant> createPrefixOrder(LanguagesConstant[] languages) {
+		List<LanguagesConstant> sortedLanguages = new ArrayList<>(Arrays.asList(languages));
+		sortedLanguages.sort(Comparator.comparingInt((LanguagesConstant lang) -> lang.getLocale().getLanguage().length()).reversed());
+		Map<String, LanguagesConstant> prefixOrder = new LinkedHashMap<>();
+		for (LanguagesConstant lang : sortedLanguages) {
+			prefixOrder.put("messages_" + lang.getLocale().getLanguage(), lang);
+		}
+		return prefixOrder;
+	}
+
+	static LanguagesConstant matchLanguage(String fileName, Map<String, LanguagesConstant> prefixOrder) {
+		if (!fileName.endsWith(".properties")) {
+			return null;
+		}
+		for (Map.Entry<String, LanguagesConstant> prefix : prefixOrder.entrySet()) {
+			if (fileName.startsWith(prefix.getKey())) {
+				return prefix.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the file to the bucket of the first language whose "messages_<lang>" prefix it matches
+	 * and hands it to the file consumer
+	 *
+	 * @return 1 if the file was assigned to a language, 0 otherwise
+	 */
+	private static int addToLanguageBucket(Path path, Map<String, LanguagesConstant> prefixOrder,
+			Map<LanguagesConstant, List<Path>> resultFiles, BiConsumer<LanguagesConstant, Path> fileConsumer) {
+		LanguagesConstant lang = matchLanguage(path.getFileName().toString(), prefixOrder);
+		if (lang == null) {
+			return 0;
+		}
+		resultFiles.get(lang).add(path);
+		fileConsumer.accept(lang, path);
+		return 1;
+	}
+}
@@ -0,0 +1,234 @@
+package com.gui.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the scanned directories for changes of properties files.
+ * Events are coalesced until the file system has been quiet for a short period, so that bursts
+ * like a branch switch touching thousands of files are delivered as a single {@link ChangeBatch}.
+ */
+public class TranslationWatcher implements Closeable {
+
+	private static final Logger logger = Logger.getLogger(TranslationWatcher.class.getName());
+	private static final long QUIET_PERIOD_MS = 300;
+	private static final long MAX_BATCH_DELAY_MS = 2000;
+
+	private final WatchService watchService;
+	private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+	private final Predicate<Path> directoryFilter;
+	private final Consumer<ChangeBatch> batchConsumer;
+	private final Runnable overflowHandler;
+	private final Thread watchThread;
+
+	/**
+	 * Creates a watcher for the given directories
+	 *
+	 * @param directories All directories enumerated by the last scan
+	 * @param directoryFilter Decides whether a newly created directory should be watched as well
+	 * @param batchConsumer Receives the coalesced file changes on the watcher thread
+	 * @param overflowHandler Called when events were lost and a full rescan is required
+	 */
+	public TranslationWatcher(Collection<Path> directories, Predicate<Path> directoryFilter,
+			Consumer<ChangeBatch> batchConsumer, Runnable overflowHandler) throws IOException {
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.directoryFilter = directoryFilter;
+		this.batchConsumer = batchConsumer;
+		this.overflowHandler = overflowHandler;
+
+		for (Path directory : directories) {
+			register(directory);
+		}
+		logger.info("Watching " + watchedDirectories.size() + " directories for changes");
+
+		this.watchThread = new Thread(this::processEvents, "translation-watcher");
+		this.watchThread.setDaemon(true);
+	}
+
+	public void start() {
+		watchThread.start();
+	}
+
+	@Override
+	public void close() {
+		watchThread.interrupt();
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Error closing watch service", e);
+		}
+	}
+
+	private void register(Path directory) {
+		try {
+			WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+			watchedDirectories.put(key, directory);
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Could not watch directory: " + directory, e);
+		}
+	}
+
+	// Registers a new directory tree and reports the properties files already created inside it
+	private void registerTree(Path root, Set<Path> changedFiles) {
+		try {
+			Files.walkFileTree(root, new SimpleFileVisitor<>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+					if (!directoryFilter.test(dir)) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					register(dir);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					if (isPropertiesFile(file)) {
+						changedFiles.add(file);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Could not watch new directory: " + root, e);
+		}
+	}
+
+	private void processEvents() {
+		Set<Path> changedFiles = new LinkedHashSet<>();
+		Set<Path> deletedPaths = new LinkedHashSet<>();
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				// Block until something happens, then keep collecting until the burst is over
+				WatchKey key = watchService.take();
+				long batchStart = System.currentTimeMillis();
+				boolean overflow = false;
+
+				while (key != null) {
+					overflow |= collectEvents(key, changedFiles, deletedPaths);
+					if (System.currentTimeMillis() - batchStart >= MAX_BATCH_DELAY_MS) {
+						break;
+					}
+					key = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS);
+				}
+
+				if (overflow) {
+					changedFiles.clear();
+					deletedPaths.clear();
+					logger.warning("File system events were lost, requesting a full rescan");
+					overflowHandler.run();
+				} else if (!changedFiles.isEmpty() || !deletedPaths.isEmpty()) {
+					ChangeBatch batch = new ChangeBatch(changedFiles, deletedPaths);
+					changedFiles = new LinkedHashSet<>();
+					deletedPaths = new LinkedHashSet<>();
+					logger.info("Applying " + batch.getChangedFiles().size() + " changed and "
+							+ batch.getDeletedPaths().size() + " deleted paths");
+					batchConsumer.accept(batch);
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Watcher was closed
+		} catch (RuntimeException e) {
+			logger.log(Level.SEVERE, "Error in translation watcher", e);
+		}
+	}
+
+	/**
+	 * Collects the events of a key into the pending sets
+	 *
+	 * @return true if the key reported an overflow
+	 */
+	private boolean collectEvents(WatchKey key, Set<Path> changedFiles, Set<Path> deletedPaths) {
+		Path directory = watchedDirectories.get(key);
+		boolean overflow = false;
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				overflow = true;
+				continue;
+			}
+			if (directory == null) {
+				continue;
+			}
+			Path path = directory.resolve((Path) event.context());
+
+			if (event.kind() == ENTRY_DELETE) {
+				changedFiles.remove(path);
+				deletedPaths.add(path);
+			} else if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+				registerTree(path, changedFiles);
+			} else if (isPropertiesFile(path)) {
+				deletedPaths.remove(path);
+				changedFiles.add(path);
+			}
+		}
+
+		if (!key.reset()) {
+			watchedDirectories.remove(key);
+		}
+		return overflow;
+	}
+
+	private static boolean isPropertiesFile(Path path) {
+		String fileName = path.getFileName().toString();
+		return fileName.startsWith("messages_") && fileName.endsWith(".properties");
+	}
+
+	/**
+	 * Coalesced set of file system changes
+	 */
+	public static class ChangeBatch {
+		private final Set<Path> changedFiles;
+		private final Set<Path> deletedPaths;
+
+		ChangeBatch(Set<Path> changedFiles, Set<Path> deletedPaths) {
+			this.changedFiles = Collections.unmodifiableSet(changedFiles);
+			this.deletedPaths = Collections.unmodifiableSet(deletedPaths);
+		}
+
+		/**
+		 * Gets the properties files that were created or modified
+		 */
+		public Set<Path> getChangedFiles() {
+			return changedFiles;
+		}
+
+		/**
+		 * Gets the deleted files and directories
+		 */
+		public Set<Path> getDeletedPaths() {
+			return deletedPaths;
+		}
+	}
+}
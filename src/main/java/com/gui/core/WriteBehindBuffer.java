@@ -0,0 +1,380 @@
+package com.gui.core;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind buffer for key updates in properties files.
+ * Updates are grouped per file and each file is rewritten once per flush, via a temporary file that is moved
+ * into place. A flush runs after the debounce interval without new updates, or explicitly on Save.
+ * Every update is appended to "pending-writes.journal" before it is accepted, so updates that were not flushed
+ * yet are replayed on the next start.
+ */
+public class WriteBehindBuffer {
+
+	private static final Logger logger = Logger.getLogger(WriteBehindBuffer.class.getName());
+	private static final String JOURNAL_FILE = "pending-writes.journal";
+
+	private static WriteBehindBuffer instance;
+
+	private final Path journalPath;
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "write-behind");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// File -> key -> new value, in the order the keys were first updated
+	private Map<Path, PendingFile> pendingFiles = new LinkedHashMap<>();
+	// The batch a flush is writing, still visible to lookups until the files are on disk
+	private Map<Path, PendingFile> flushingFiles = Map.of();
+	// Taken before the lock of the buffer, held while a flush writes its files
+	private final Object flushLock = new Object();
+	private FileChannel journal;
+	private ScheduledFuture<?> scheduledFlush;
+	private long debounceMillis = 2000;
+	private Consumer<Map<String, String>> failureHandler = failed -> { };
+
+	/**
+	 * Gets the singleton instance of the WriteBehindBuffer, replaying the journal of a previous run on first use
+	 *
+	 * @return The WriteBehindBuffer instance
+	 */
+	public static synchronized WriteBehindBuffer getInstance() {
+		if (instance == null) {
+			instance = new WriteBehindBuffer(Paths.get(JOURNAL_FILE));
+			instance.replayJournal();
+		}
+		return instance;
+	}
+
+	WriteBehindBuffer(Path journalPath) {
+		this.journalPath = journalPath;
+	}
+
+	/**
+	 * Sets the time without new updates after which pending updates are written, 0 or less writes immediately
+	 */
+	public synchronized void setDebounceMillis(long debounceMillis) {
+		this.debounceMillis = debounceMillis;
+	}
+
+	/**
+	 * Sets the handler for files that could not be written by a scheduled flush, called on the flush thread
+	 *
+	 * @param failureHandler Receives file path and error message of each failed file
+	 */
+	public synchronized void setFailureHandler(Consumer<Map<String, String>> failureHandler) {
+		this.failureHandler = failureHandler;
+	}
+
+	/**
+	 * Queues a key update. The update is journaled before this method returns.
+	 *
+	 * @param path The properties file
+	 * @param charset The charset of the file
+	 * @param key The key to set
+	 * @param value The new value
+	 */
+	public synchronized void update(Path path, Charset charset, String key, String value) throws IOException {
+		path = path.toAbsolutePath();
+		appendToJournal(path, charset, key, value);
+		pendingFiles.computeIfAbsent(path, p -> new PendingFile(charset)).values.put(key, value);
+		scheduleFlush();
+	}
+
+	/**
+	 * Gets the number of key updates that were not written yet
+	 */
+	public synchronized int getPendingCount() {
+		int count = 0;
+		for (PendingFile pendingFile : pendingFiles.values()) {
+			count += pendingFile.values.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the value of a key that was not written yet
+	 *
+	 * @return The new value, or null if no update of the key is pending
+	 */
+	public synchronized String getPendingValue(Path path, String key) {
+		Path file = path.toAbsolutePath();
+		PendingFile pendingFile = pendingFiles.get(file);
+		if (pendingFile != null && pendingFile.values.containsKey(key)) {
+			return pendingFile.values.get(key);
+		}
+		pendingFile = flushingFiles.get(file);
+		return pendingFile != null ? pendingFile.values.get(key) : null;
+	}
+
+	/**
+	 * Writes all pending updates, one rewrite per file. Files that fail stay pending.
+	 *
+	 * @return File path and error message of each file that could not be written
+	 */
+	public Map<String, String> flush() {
+		// Save and the debounce thread may flush at the same time, a second flush must not read a file the first
+		// one is still writing or delete the journal before the first one is done
+		synchronized (flushLock) {
+			Map<Path, PendingFile> batch;
+			synchronized (this) {
+				if (scheduledFlush != null) {
+					scheduledFlush.cancel(false);
+					scheduledFlush = null;
+				}
+				if (pendingFiles.isEmpty()) {
+					return Map.of();
+				}
+				batch = pendingFiles;
+				pendingFiles = new LinkedHashMap<>();
+				flushingFiles = batch;
+			}
+
+			// Files are written without holding the lock of the buffer, so updates can be queued meanwhile
+			Map<String, String> failedFiles = new LinkedHashMap<>();
+			Map<Path, PendingFile> failed = new HashMap<>();
+			for (Map.Entry<Path, PendingFile> entry : batch.entrySet()) {
+				try {
+					writeFile(entry.getKey(), entry.getValue());
+				} catch (IOException | RuntimeException e) {
+					logger.log(Level.WARNING, "Error writing " + entry.getKey(), e);
+					failedFiles.put(entry.getKey().toString(), String.valueOf(e.getMessage()));
+					failed.put(entry.getKey(), entry.getValue());
+				}
+			}
+
+			synchronized (this) {
+				// Updates queued during the flush are newer than the failed ones
+				failed.forEach((path, pendingFile) -> {
+					PendingFile current = pendingFiles.computeIfAbsent(path, p -> new PendingFile(pendingFile.charset));
+					pendingFile.values.forEach(current.values::putIfAbsent);
+				});
+				flushingFiles = Map.of();
+				rewriteJournal();
+			}
+			logger.info("Wrote " + (batch.size() - failed.size()) + " files with pending translation updates");
+			return failedFiles;
+		}
+	}
+
+	/**
+	 * Writes pending updates and stops the flush thread
+	 *
+	 * @return File path and error message of each file that could not be written
+	 */
+	public Map<String, String> close() {
+		Map<String, String> failedFiles = flush();
+		scheduler.shutdown();
+		synchronized (this) {
+			closeJournal();
+		}
+		return failedFiles;
+	}
+
+	private void scheduleFlush() {
+		if (scheduledFlush != null) {
+			scheduledFlush.cancel(false);
+		}
+		scheduledFlush = scheduler.schedule(() -> {
+			Map<String, String> failedFiles = flush();
+			if (!failedFiles.isEmpty()) {
+				Consumer<Map<String, String>> handler;
+				synchronized (this) {
+					handler = failureHandler;
+				}
+				handler.accept(failedFiles);
+			}
+		}, Math.max(debounceMillis, 0), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Applies all pending updates of one file in a single pass and replaces the file atomically
+	 */
+	private static void writeFile(Path path, PendingFile pendingFile) throws IOException {
+		List<String> lines = Files.readAllLines(path, pendingFile.charset);
+		Map<String, String> remaining = new LinkedHashMap<>(pendingFile.values);
+
+		for (int i = 0; i < lines.size() && !remaining.isEmpty(); i++) {
+			String line = lines.get(i).trim();
+			int separator = line.indexOf('=');
+			if (separator < 0) {
+				continue;
+			}
+			String key = line.substring(0, separator);
+			String value = remaining.remove(key);
+			if (value != null) {
+				lines.set(i, key + "=" + value);
+			}
+		}
+
+		// Füge die neuen Schlüssel hinzu, falls sie nicht vorhanden sind
+		remaining.forEach((key, value) -> lines.add(key + "=" + value));
+
+		Path tempPath = Files.createTempFile(path.getParent(), path.getFileName() + ".", ".tmp");
+		try {
+			Files.write(tempPath, lines, pendingFile.charset);
+			try {
+				// Temporary files are only readable by the owner, the file keeps its permissions
+				Files.setPosixFilePermissions(tempPath, Files.getPosixFilePermissions(path));
+			} catch (UnsupportedOperationException e) {
+				// No POSIX permissions on this file system
+			}
+			try {
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	private void appendToJournal(Path path, Charset charset, String key, String value) throws IOException {
+		if (journal == null) {
+			journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			writeRecord(out, path, charset, key, value);
+		}
+		ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+		while (record.hasRemaining()) {
+			journal.write(record);
+		}
+		// The update is only accepted once it is on disk
+		journal.force(false);
+	}
+
+	/**
+	 * Replaces the journal with the updates that are still pending, or deletes it if there are none
+	 */
+	private void rewriteJournal() {
+		closeJournal();
+		try {
+			if (pendingFiles.isEmpty()) {
+				Files.deleteIfExists(journalPath);
+				return;
+			}
+			Path tempPath = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+			try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempPath))) {
+				for (Map.Entry<Path, PendingFile> entry : pendingFiles.entrySet()) {
+					for (Map.Entry<String, String> update : entry.getValue().values.entrySet()) {
+						writeRecord(out, entry.getKey(), entry.getValue().charset, update.getKey(), update.getValue());
+					}
+				}
+			}
+			Files.move(tempPath, journalPath, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			// The old journal may still contain written updates, replaying them again is harmless
+			logger.log(Level.WARNING, "Error rewriting the journal of pending translation updates", e);
+		}
+	}
+
+	private void closeJournal() {
+		if (journal != null) {
+			try {
+				journal.close();
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Error closing the journal of pending translation updates", e);
+			}
+			journal = null;
+		}
+	}
+
+	/**
+	 * Loads the updates of a previous run that were not written and schedules them for writing.
+	 * A record that was cut off by a crash or is corrupt is dropped together with everything behind it,
+	 * it was never accepted.
+	 */
+	synchronized void replayJournal() {
+		int records = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+			// No string in the journal can be longer than the journal itself
+			long journalSize = Files.size(journalPath);
+			while (true) {
+				Path path = Paths.get(readString(in, journalSize));
+				Charset charset = Charset.forName(readString(in, journalSize));
+				String key = readString(in, journalSize);
+				String value = readString(in, journalSize);
+				pendingFiles.computeIfAbsent(path, p -> new PendingFile(charset)).values.put(key, value);
+				records++;
+			}
+		} catch (EOFException e) {
+			// End of the journal
+		} catch (NoSuchFileException e) {
+			return;
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.WARNING, "Error reading the journal of pending translation updates, dropping the records after "
+					+ records, e);
+		}
+
+		// Drops the cut off or corrupt record, new updates are appended behind the complete ones
+		rewriteJournal();
+		if (!pendingFiles.isEmpty()) {
+			logger.info("Replaying " + records + " translation updates that were not written before the last exit");
+			scheduleFlush();
+		}
+	}
+
+	private static void writeRecord(DataOutputStream out, Path path, Charset charset, String key, String value)
+			throws IOException {
+		writeString(out, path.toString());
+		writeString(out, charset.name());
+		writeString(out, key);
+		writeString(out, value);
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in, long journalSize) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > journalSize) {
+			throw new IOException("Corrupt journal record: invalid string length " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static class PendingFile {
+		private final Charset charset;
+		private final Map<String, String> values = new LinkedHashMap<>();
+
+		PendingFile(Charset charset) {
+			this.charset = charset;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.gui.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler that hands records to a background thread which writes them to the target handler.
+ * Logging threads never block on output: if the bounded queue is full, the record is dropped
+ * and the number of dropped records is reported once the writer caught up.
+ */
+public class AsyncLogHandler extends Handler {
+
+	private static final int DEFAULT_CAPACITY = 8192;
+
+	private final Handler target;
+	private final BlockingQueue<LogRecord> queue;
+	private final AtomicLong droppedRecords = new AtomicLong();
+	private final Thread writerThread;
+	private volatile RateLimitFilter rateLimitFilter;
+	private volatile boolean closed;
+
+	public AsyncLogHandler(Handler target) {
+		this(target, DEFAULT_CAPACITY);
+	}
+
+	public AsyncLogHandler(Handler target, int capacity) {
+		this.target = target;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.writerThread = new Thread(this::writeRecords, "log-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Sets the rate limit per logger and second, 0 or less disables it
+	 */
+	public void setRateLimit(int maxRecordsPerSecond) {
+		RateLimitFilter filter = maxRecordsPerSecond > 0 ? new RateLimitFilter(maxRecordsPerSecond, this::enqueue) : null;
+		rateLimitFilter = filter;
+		setFilter(filter);
+	}
+
+	@Override
+	public void publish(LogRecord record) {
+		if (closed || !isLoggable(record)) {
+			return;
+		}
+		enqueue(record);
+	}
+
+	// Bypasses level and filter, used for the summaries of the rate limit as well
+	private void enqueue(LogRecord record) {
+		if (!queue.offer(record)) {
+			droppedRecords.incrementAndGet();
+		}
+	}
+
+	@Override
+	public void flush() {
+		target.flush();
+	}
+
+	/**
+	 * Stops the writer thread after it wrote all queued records and closes the target handler
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		writerThread.interrupt();
+		try {
+			writerThread.join(TimeUnit.SECONDS.toMillis(2));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		target.close();
+	}
+
+	private void writeRecords() {
+		List<LogRecord> batch = new ArrayList<>();
+		while (!closed) {
+			try {
+				LogRecord record = queue.poll(1, TimeUnit.SECONDS);
+				if (record != null) {
+					batch.add(record);
+					queue.drainTo(batch);
+					write(batch);
+				}
+				afterBatch();
+			} catch (InterruptedException e) {
+				// Closed, write what is left below
+			}
+		}
+		queue.drainTo(batch);
+		write(batch);
+		afterBatch();
+	}
+
+	private void write(List<LogRecord> batch) {
+		for (LogRecord record : batch) {
+			try {
+				target.publish(record);
+			} catch (RuntimeException e) {
+				reportError("Error writing log record", e, ErrorManager.WRITE_FAILURE);
+			}
+		}
+		batch.clear();
+	}
+
+	private void afterBatch() {
+		RateLimitFilter filter = rateLimitFilter;
+		if (filter != null) {
+			filter.reportSuppressed(System.currentTimeMillis());
+		}
+		long dropped = droppedRecords.getAndSet(0);
+		if (dropped > 0) {
+			LogRecord warning = new LogRecord(Level.WARNING, "Dropped " + dropped + " log records, the log queue was full");
+			warning.setLoggerName(AsyncLogHandler.class.getName());
+			target.publish(warning);
+		}
+		// Summaries of the rate limit are queued, they are written with the next batch
+		target.flush();
+	}
+}
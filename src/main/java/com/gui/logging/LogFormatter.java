@@ -0,0 +1,40 @@
+package com.gui.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+/**
+ * Formats log records as single lines with fixed fields:
+ * {@code time level [thread] logger - message}, followed by the stack trace if there is one.
+ * The logger name is used instead of the source class, because inferring the caller from the stack
+ * is expensive and would be wrong on the writer thread of the {@link AsyncLogHandler}.
+ */
+public class LogFormatter extends Formatter {
+
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+			.withZone(ZoneId.systemDefault());
+
+	@Override
+	@SuppressWarnings("deprecation")
+	public String format(LogRecord record) {
+		StringBuilder line = new StringBuilder(128);
+		TIME_FORMAT.formatTo(Instant.ofEpochMilli(record.getMillis()), line);
+		line.append(' ').append(String.format("%-7s", record.getLevel().getName()))
+				.append(" [").append(record.getThreadID()).append("] ")
+				.append(record.getLoggerName())
+				.append(" - ").append(formatMessage(record))
+				.append(System.lineSeparator());
+
+		if (record.getThrown() != null) {
+			StringWriter stackTrace = new StringWriter();
+			record.getThrown().printStackTrace(new PrintWriter(stackTrace));
+			line.append(stackTrace);
+		}
+		return line.toString();
+	}
+}
@@ -0,0 +1,104 @@
+package com.gui.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Filter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Limits the number of records each logger may write per second.
+ * Records above the limit are dropped and counted, the count is reported as a single summary record
+ * once the second is over. SEVERE records are never dropped.
+ */
+public class RateLimitFilter implements Filter {
+
+	private final int maxRecordsPerSecond;
+	private final Consumer<LogRecord> summaryConsumer;
+	private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+	/**
+	 * @param maxRecordsPerSecond The records allowed per logger and second, 0 or less disables the limit
+	 * @param summaryConsumer Receives the summary records about suppressed records
+	 */
+	public RateLimitFilter(int maxRecordsPerSecond, Consumer<LogRecord> summaryConsumer) {
+		this.maxRecordsPerSecond = maxRecordsPerSecond;
+		this.summaryConsumer = summaryConsumer;
+	}
+
+	@Override
+	public boolean isLoggable(LogRecord record) {
+		if (maxRecordsPerSecond <= 0 || record.getLevel().intValue() >= Level.SEVERE.intValue()) {
+			return true;
+		}
+
+		String loggerName = String.valueOf(record.getLoggerName());
+		Window window = windows.computeIfAbsent(loggerName, k -> new Window());
+		long second = record.getMillis() / 1000;
+		int suppressed;
+		boolean loggable;
+
+		synchronized (window) {
+			suppressed = window.roll(second);
+			loggable = window.count < maxRecordsPerSecond;
+			if (loggable) {
+				window.count++;
+			} else {
+				window.suppressed++;
+			}
+		}
+
+		if (suppressed > 0) {
+			summaryConsumer.accept(createSummary(loggerName, suppressed));
+		}
+		return loggable;
+	}
+
+	/**
+	 * Reports loggers whose last window ended with suppressed records, even if they did not log again since
+	 *
+	 * @param nowMillis The current time
+	 */
+	public void reportSuppressed(long nowMillis) {
+		long second = nowMillis / 1000;
+		for (Map.Entry<String, Window> entry : windows.entrySet()) {
+			int suppressed;
+			synchronized (entry.getValue()) {
+				suppressed = entry.getValue().roll(second);
+			}
+			if (suppressed > 0) {
+				summaryConsumer.accept(createSummary(entry.getKey(), suppressed));
+			}
+		}
+	}
+
+	private static LogRecord createSummary(String loggerName, int suppressed) {
+		LogRecord summary = new LogRecord(Level.WARNING, "Suppressed " + suppressed + " log records of " + loggerName
+				+ " (rate limit exceeded)");
+		summary.setLoggerName(RateLimitFilter.class.getName());
+		return summary;
+	}
+
+	private static class Window {
+		private long second;
+		private int count;
+		private int suppressed;
+
+		/**
+		 * Starts a new window if the second changed
+		 *
+		 * @return The records suppressed in the window that ended, or 0
+		 */
+		private int roll(long currentSecond) {
+			if (currentSecond == second) {
+				return 0;
+			}
+			int ended = suppressed;
+			second = currentSecond;
+			count = 0;
+			suppressed = 0;
+			return ended;
+		}
+	}
+}
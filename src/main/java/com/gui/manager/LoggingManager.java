@@ -0,0 +1,97 @@
+package com.gui.manager;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Properties;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.gui.contsants.SettingsConstant;
+import com.gui.logging.AsyncLogHandler;
+import com.gui.logging.LogFormatter;
+
+/**
+ * Configures java.util.logging for the application.
+ * All records go through a single asynchronous, rate-limited console handler,
+ * the level and the rate limit come from the "log.level" and "log.rate.limit" settings.
+ */
+public class LoggingManager {
+
+	private static final Logger logger = Logger.getLogger(LoggingManager.class.getName());
+	private static final String[] LEVELS = { "OFF", "SEVERE", "WARNING", "INFO", "CONFIG", "FINE", "FINER", "FINEST", "ALL" };
+
+	private static LoggingManager instance;
+
+	private final AsyncLogHandler handler;
+
+	private LoggingManager() {
+		ConsoleHandler console = new ConsoleHandler();
+		console.setLevel(Level.ALL);
+		console.setFormatter(new LogFormatter());
+		try {
+			console.setEncoding("UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			// Keep the platform encoding
+		}
+
+		handler = new AsyncLogHandler(console);
+		Logger root = Logger.getLogger("");
+		for (Handler existing : root.getHandlers()) {
+			root.removeHandler(existing);
+		}
+		root.addHandler(handler);
+		Runtime.getRuntime().addShutdownHook(new Thread(handler::close, "log-shutdown"));
+	}
+
+	/**
+	 * Gets the singleton instance of the LoggingManager, replacing the default console handler on first use
+	 *
+	 * @return The LoggingManager instance
+	 */
+	public static synchronized LoggingManager getInstance() {
+		if (instance == null) {
+			instance = new LoggingManager();
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets the level names that can be selected in the settings
+	 */
+	public static String[] getLevelNames() {
+		return LEVELS.clone();
+	}
+
+	/**
+	 * Applies level and rate limit from the settings
+	 */
+	public void configure(Properties settings) {
+		setLevel(SettingsConstant.getSettingValue(settings, SettingsConstant.LOG_LEVEL));
+
+		String rateLimit = SettingsConstant.getSettingValue(settings, SettingsConstant.LOG_RATE_LIMIT);
+		try {
+			handler.setRateLimit(Integer.parseInt(rateLimit.trim()));
+		} catch (NumberFormatException e) {
+			handler.setRateLimit(Integer.parseInt(SettingsConstant.LOG_RATE_LIMIT.getDefaultValue()));
+			logger.warning("Invalid value for " + SettingsConstant.LOG_RATE_LIMIT.getKey() + ": " + rateLimit);
+		}
+	}
+
+	/**
+	 * Sets the level of the root logger, so records below it are not even created
+	 *
+	 * @param levelName A java.util.logging level name like INFO or FINE
+	 */
+	public void setLevel(String levelName) {
+		Level level;
+		try {
+			level = Level.parse(levelName.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			level = Level.INFO;
+			logger.warning("Invalid log level: " + levelName + ", using INFO");
+		}
+		Logger.getLogger("").setLevel(level);
+		handler.setLevel(level);
+	}
+}
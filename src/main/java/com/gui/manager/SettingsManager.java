@@ -59,6 +59,8 @@ public class SettingsManager {
 		String apiKeyField = settingsDialog.getApiKeyField();
 		String convertFilesCheckbox = Boolean.toString(settingsDialog.isConvertFilesCheckboxSelected());
 		String languageDetectionCheckbox = Boolean.toString(settingsDialog.isLanguageDetectionCheckboxSelected());
+		String watchModeCheckbox = Boolean.toString(settingsDialog.isWatchModeCheckboxSelected());
+		String logLevel = settingsDialog.getLogLevel();
 
 		Path BASE_PATH = Path.of(basePathField);
 
@@ -75,6 +77,9 @@ public class SettingsManager {
 		settings.setProperty(SettingsConstant.DEEPL_API_KEY.getKey(), apiKeyField);
 		settings.setProperty(SettingsConstant.CONVERT_FILES.getKey(), convertFilesCheckbox);
 		settings.setProperty(SettingsConstant.LANGUAGE_DETECTION.getKey(), languageDetectionCheckbox);
+		settings.setProperty(SettingsConstant.WATCH_MODE.getKey(), watchModeCheckbox);
+		settings.setProperty(SettingsConstant.LOG_LEVEL.getKey(), logLevel);
+		LoggingManager.getInstance().setLevel(logLevel);
 
 		try (OutputStream output = Files.newOutputStream(Paths.get("settings.properties"))) {
 			settings.store(output, null);
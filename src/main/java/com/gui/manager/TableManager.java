@@ -2,20 +2,29 @@ package com.gui.manager;
 
 import javax.swing.JTable;
 import javax.swing.event.TableModelEvent;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.io.IOException;
 import java.util.Map;
 
-import com.gui.TranslationCheckerApp;
 import com.gui.ui.FileWarningDialog;
 
 public class TableManager {
 
+    private final TableModel mainTableModel;
     private boolean isUpdating = false;
 
-    public void registerTableModelListenerForEditValue(DefaultTableModel model, JTable table) {
+    /**
+     * @param mainTableModel The model of the main table, which is kept in sync with edits in other tables
+     */
+    public TableManager(TableModel mainTableModel) {
+        this.mainTableModel = mainTableModel;
+    }
+
+    public void registerTableModelListenerForEditValue(TableModel model, JTable table) {
         model.addTableModelListener(e -> {
-            if (isUpdating || e.getType() != TableModelEvent.UPDATE) {
+            // Only edits of a single value, not bulk updates of the whole table
+            if (isUpdating || e.getType() != TableModelEvent.UPDATE || e.getFirstRow() != e.getLastRow()
+                    || e.getColumn() != 2) {
                 return;
             }
 
@@ -27,16 +36,8 @@ public class TableManager {
                     table.getCellEditor().stopCellEditing();
                 }
 
-                // Get the selected row in the view (after sorting/filtering)
-                int selectedRowInView = table.getSelectedRow();
-
-                // Check if a row is selected
-                if (selectedRowInView == -1) {
-                    return;
-                }
-
-                // Convert view row index to model row index
-                int modelRow = table.convertRowIndexToModel(selectedRowInView);
+                // The event carries the model row of the edited cell
+                int modelRow = e.getFirstRow();
 
                 // Retrieve values from the selected row
                 String newValue = model.getValueAt(modelRow, 2).toString();  // Spalte "Value"
@@ -55,9 +56,8 @@ public class TableManager {
 
                 translationKeyManager.updateColumnValue(language, key, newValue, model);
 
-                TranslationCheckerApp app = new TranslationCheckerApp();
-                if (app.getTableModel() != model) {
-                    translationKeyManager.updateColumnValue(language, key, newValue, app.getTableModel());
+                if (mainTableModel != null && mainTableModel != model) {
+                    translationKeyManager.updateColumnValue(language, key, newValue, mainTableModel);
                 }
             } finally {
                 isUpdating = false;
@@ -1,21 +1,33 @@
 package com.gui.manager;
 
-import com.gui.TranslationCheckerApp;
+import com.gui.core.WriteBehindBuffer;
+import com.gui.model.TranslationTableModel;
 import com.gui.services.LocaleEncodingService;
 
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.io.IOException;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class TranslationKeyManager {
 
+	private static final Logger logger = Logger.getLogger(TranslationKeyManager.class.getName());
+
 	/**
 	 * Updates the value of a translation key in the table and in the file.
 	 **/
-	public void updateColumnValue(String language, String key, String newValue, DefaultTableModel tableModel) {
+	public void updateColumnValue(String language, String key, String newValue, TableModel tableModel) {
+		if (tableModel instanceof TranslationTableModel) {
+			// The main table keeps an index of its rows
+			int row = ((TranslationTableModel) tableModel).findRow(language, key);
+			if (row >= 0) {
+				tableModel.setValueAt(newValue, row, TranslationTableModel.VALUE_COLUMN);
+			}
+			return;
+		}
+
 		for (int row = 0; row < tableModel.getRowCount(); row++) {
 
 			String tableLanguage = tableModel.getValueAt(row, 0).toString();
@@ -28,32 +40,15 @@ public class TranslationKeyManager {
 		}
 	}
 
+	/**
+	 * Queues the new value of a key for its file. Updates are journaled right away and written
+	 * in batches, one rewrite per file, see {@link WriteBehindBuffer}.
+	 **/
 	public void updateKeyInFile(String language, String key, String newValue, String filePath) throws IOException {
 		Path path = Path.of(filePath);
 		Charset encoding = LocaleEncodingService.getLocaleWithEncoding(language).getEncoding();
 
-		List<String> lines = Files.readAllLines(path, encoding);
-		boolean keyFound = false;
-
-		for (int i = 0; i < lines.size(); i++) {
-			String line = lines.get(i).trim();
-			if (line.startsWith(key + "=")) {
-				lines.set(i, key + "=" + newValue);
-				keyFound = true;
-				break;
-			}
-		}
-
-		if (!keyFound) {
-			// Füge den neuen Schlüssel hinzu, falls er nicht vorhanden ist
-			lines.add(key + "=" + newValue);
-		}
-
-		// Schreibe die geänderten Zeilen zurück in die Datei
-		Files.write(path, lines, encoding);
-
-		TranslationCheckerApp app = new TranslationCheckerApp();
-		app.setStatusLabel("Successfully updated key '" + key + "' with new value '" + newValue + "' in file: " + filePath);
-		System.out.println("Successfully updated key '" + key + "' with new value '" + newValue + "' in file: " + filePath);
+		WriteBehindBuffer.getInstance().update(path, encoding, key, newValue);
+		logger.log(Level.FINE, () -> "Queued key '" + key + "' with new value '" + newValue + "' for file: " + filePath);
 	}
 }
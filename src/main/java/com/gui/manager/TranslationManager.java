@@ -8,10 +8,17 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -22,15 +29,19 @@ import javax.swing.JPanel;
 import javax.swing.JTable;
 import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 
-import com.gui.TranslationCheckerApp;
 import com.gui.contsants.LanguagesConstant;
+import com.gui.model.TranslationTableModel;
 import com.gui.services.DeepLService;
+import com.gui.services.TranslationMemory;
+import com.gui.services.TranslationScheduler;
 import com.gui.ui.FileWarningDialog;
 
 public class TranslationManager {
 
+	private static final Logger logger = Logger.getLogger(TranslationManager.class.getName());
+
 	/**
 	 * Finds a fallback value (only German) for a given key when the current locale's value is empty.
 	 * @param key The key to find a fallback for
@@ -38,6 +49,20 @@ public class TranslationManager {
 	 * @return The German value if found, or null if not found
 	 */
 	private String findFallbackValue(String key, String currentLocale) {
+		if (editDialogTableModel instanceof TranslationTableModel) {
+			// The main table finds the first German row through its index
+			TranslationTableModel mainTableModel = (TranslationTableModel) editDialogTableModel;
+			int row = mainTableModel.findRow(LanguagesConstant.GERMAN, key);
+			if (row < 0 || LanguagesConstant.GERMAN.getLocale().toString().equals(currentLocale)) {
+				return null;
+			}
+			String value = mainTableModel.getValue(row);
+			if (value != null && !value.trim().isEmpty()) {
+				return value;
+			}
+			// The first German row is empty, another file may still have a value
+		}
+
 		// Only try to find a German value as fallback
 		for (int i = 0; i < editDialogTableModel.getRowCount(); i++) {
 			Object rowLocale = editDialogTableModel.getValueAt(i, 0);
@@ -62,15 +87,17 @@ public class TranslationManager {
 	}
 
 	private final JTable editDialogTable;
-	private final DefaultTableModel editDialogTableModel;
+	private final TableModel editDialogTableModel;
 	private final JButton translateButtons;
+	private final String translateButtonText;
 	private List<String> selectedValues;
 	private boolean dialogAlreadyOpen = false;
 
-	public TranslationManager(JTable editDialogTable, DefaultTableModel editDialogTableModel, JButton translateButtons) {
+	public TranslationManager(JTable editDialogTable, TableModel editDialogTableModel, JButton translateButtons) {
 		this.editDialogTable = editDialogTable;
 		this.editDialogTableModel = editDialogTableModel;
 		this.translateButtons = translateButtons;
+		this.translateButtonText = translateButtons.getText();
 		this.selectedValues = new ArrayList<>();
 	}
 
@@ -90,6 +117,8 @@ public class TranslationManager {
 
 					Properties settings = settingsManager.getSettings();
 					selectedValues.clear();
+					// Equal texts for the same language are translated once, so they are only counted once
+					Set<String> uniqueTexts = new HashSet<>();
 
 					int[] selectedRowsInEditDialog = editDialogTable.getSelectedRows();
 					int[] modelRows = new int[selectedRowsInEditDialog.length];
@@ -97,12 +126,11 @@ public class TranslationManager {
 					for (int i = 0; i < selectedRowsInEditDialog.length; i++) {
 						int modelRow = editDialogTable.convertRowIndexToModel(selectedRowsInEditDialog[i]);
 
-						System.out.println("Accessing row " + modelRow + " of " + editDialogTable.getRowCount());
 
 						if (modelRow >= 0 && modelRow < editDialogTable.getRowCount()) {
 							modelRows[i] = modelRow;
 						} else {
-							System.err.println("Invalid model row index: " + modelRow);
+							logger.warning("Invalid model row index: " + modelRow);
 						}
 					}
 
@@ -149,9 +177,12 @@ public class TranslationManager {
 									selectedValue = "";
 								}
 							}
-							selectedValues.add(selectedValue);
+							String targetLanguage = editDialogTable.getValueAt(modelRow, 0).toString();
+							if (uniqueTexts.add(targetLanguage + '\0' + TranslationMemory.normalize(selectedValue))) {
+								selectedValues.add(selectedValue);
+							}
 						} else {
-							System.err.println("Invalid row index: " + modelRow);
+							logger.warning("Invalid row index: " + modelRow);
 						}
 					}
 
@@ -160,7 +191,8 @@ public class TranslationManager {
 					if (!isEnoughLeft) {
 						SwingUtilities.invokeLater(() -> showNotEnoughTokensDialog(selectedRowsInEditDialog));
 					} else {
-						startTranslation(selectedRowsInEditDialog, sourceLanguage);
+						// Keeps the button disabled until all translations are done
+						startTranslation(selectedRowsInEditDialog, sourceLanguage).join();
 					}
 					return null;
 
@@ -208,13 +240,20 @@ public class TranslationManager {
 					dialog.setVisible(true);
 				}
 
-				private void startTranslation(int[] selectedRowsInEditDialog, String sourceLanguage) {
-					List<String> newValues = new ArrayList<>();
-					Map<String, String> failedFiles = new HashMap<>();
-					TranslationCheckerApp app = new TranslationCheckerApp();
-					DefaultTableModel mainTableModel = app.getTableModel();
-
+				private CompletableFuture<Void> startTranslation(int[] selectedRowsInEditDialog, String sourceLanguage) {
+					// Filled by the translation threads
+					Map<String, String> failedFiles = Collections.synchronizedMap(new LinkedHashMap<>());
 					TranslationKeyManager translationKeyManager = new TranslationKeyManager();
+					// Rows to translate, grouped by source and target language, so each pair needs few requests
+					List<PendingTranslation> pendingRows = new ArrayList<>();
+					Map<List<String>, List<PendingTranslation>> pendingByLanguages = new LinkedHashMap<>();
+
+					// Remove "(*)" at the end of the value
+					Pattern languageCodePattern = Pattern.compile("\\s*\\((?i:" +
+							Arrays.stream(LanguagesConstant.values())
+									.map(LanguagesConstant::name)
+									.collect(Collectors.joining("|")) +
+							")\\)$");
 
 					for (int selectedRow : selectedRowsInEditDialog) {
 						String targetLanguage = editDialogTable.getValueAt(selectedRow, 0).toString();
@@ -232,16 +271,10 @@ public class TranslationManager {
 							if (fallbackValue != null && !fallbackValue.trim().isEmpty()) {
 								selectedValue = fallbackValue;
 								usingFallback = true;
-								System.out.println("Using fallback value for key '" + key + "': " + fallbackValue);
+								logger.log(Level.FINE, () -> "Using fallback value for key '" + key + "': " + fallbackValue);
 							}
 						}
 
-						// Remove "(*)" at the end of the value
-						Pattern languageCodePattern = Pattern.compile("\\s*\\((?i:" +
-								Arrays.stream(LanguagesConstant.values())
-										.map(LanguagesConstant::name)
-										.collect(Collectors.joining("|")) +
-								")\\)$");
 						selectedValue = languageCodePattern.matcher(selectedValue).replaceAll("");
 						selectedValues.add(selectedValue);
 
@@ -250,7 +283,6 @@ public class TranslationManager {
 							try {
 								translationKeyManager.updateKeyInFile(targetLanguage, key, "", filePath);
 								translationKeyManager.updateColumnValue(targetLanguage, key, "", editDialogTableModel);
-								translationKeyManager.updateColumnValue(targetLanguage, key, "", mainTableModel);
 								continue;
 							} catch (IOException ex) {
 								failedFiles.put(Path.of(filePath) + " (" + key + ")", ex.getMessage());
@@ -258,35 +290,80 @@ public class TranslationManager {
 							}
 						}
 
-						// Translate the value using DeepL API
-						String translatedValue;
-						try {
-							translatedValue = DeepLService.translateString(selectedValue, sourceLanguage, targetLanguage);
-							
-							// Mark the translation as using a fallback if applicable
-							if (usingFallback && translatedValue != null && !translatedValue.trim().isEmpty()) {
-								translatedValue += " (auto)";
-							}
-							
-							newValues.add(translatedValue);
-						} catch (Exception e) {
-							failedFiles.put(Path.of(filePath) + " (" + key + ")", e.getMessage());
+						pendingRows.add(new PendingTranslation(targetLanguage, key, filePath, selectedValue, usingFallback));
+					}
+
+					// The source languages of all rows are detected in one batch
+					List<String> rowSourceLanguages = DeepLService.resolveSourceLanguages(
+							pendingRows.stream().map(pending -> pending.text).collect(Collectors.toList()), sourceLanguage);
+					for (int i = 0; i < pendingRows.size(); i++) {
+						PendingTranslation pending = pendingRows.get(i);
+						String rowSourceLanguage = rowSourceLanguages.get(i);
+						if (rowSourceLanguage.equals(pending.targetLanguage)) {
+							// Nothing to translate, the value is already in the target language
+							logger.fine(() -> "Source language and target language are the same for key '" + pending.key + "'");
+							applyTranslation(translationKeyManager, pending, pending.text, failedFiles);
 							continue;
 						}
+						pendingByLanguages.computeIfAbsent(List.of(rowSourceLanguage, pending.targetLanguage), k -> new ArrayList<>())
+								.add(pending);
+					}
 
-						// Update the value in the file and both tables
-						try {
-							translationKeyManager.updateKeyInFile(targetLanguage, key, translatedValue, filePath);
-							translationKeyManager.updateColumnValue(targetLanguage, key, translatedValue, editDialogTableModel);
-							translationKeyManager.updateColumnValue(targetLanguage, key, translatedValue, mainTableModel);
-						} catch (IOException ex) {
-							throw new RuntimeException(ex);
+					// Translate the values using DeepL API, the requests of all language pairs run in parallel
+					TranslationScheduler scheduler = TranslationScheduler.getInstance();
+					scheduler.configure(settingsManager.getSettings());
+					int total = pendingByLanguages.values().stream().mapToInt(List::size).sum();
+					AtomicInteger finished = new AtomicInteger();
+					List<CompletableFuture<Void>> translations = new ArrayList<>();
+
+					for (Map.Entry<List<String>, List<PendingTranslation>> entry : pendingByLanguages.entrySet()) {
+						List<PendingTranslation> pendingTranslations = entry.getValue();
+						List<String> texts = pendingTranslations.stream().map(pending -> pending.text).collect(Collectors.toList());
+
+						translations.add(scheduler.translate(texts, entry.getKey().get(0), entry.getKey().get(1), new TranslationScheduler.Listener() {
+							@Override
+							public void translated(int index, String translation) {
+								applyTranslation(translationKeyManager, pendingTranslations.get(index), translation, failedFiles);
+								showProgress(finished.incrementAndGet(), total);
+							}
+
+							@Override
+							public void failed(int index, Exception error) {
+								PendingTranslation pending = pendingTranslations.get(index);
+								failedFiles.put(Path.of(pending.filePath) + " (" + pending.key + ")", error.getMessage());
+								showProgress(finished.incrementAndGet(), total);
+							}
+						}));
+					}
+
+					return CompletableFuture.allOf(translations.toArray(new CompletableFuture<?>[0])).whenComplete((result, error) -> {
+						SwingUtilities.invokeLater(() -> translateButtons.setText(translateButtonText));
+						// If there are failed translations, show a dialog
+						if (!failedFiles.isEmpty()) {
+							SwingUtilities.invokeLater(() -> FileWarningDialog.show(failedFiles, "Translation failed for the following files:"));
 						}
+					});
+				}
+
+				private void showProgress(int finished, int total) {
+					SwingUtilities.invokeLater(() -> translateButtons.setText("Translating " + finished + "/" + total));
+				}
+
+				private void applyTranslation(TranslationKeyManager translationKeyManager, PendingTranslation pending,
+						String translatedValue, Map<String, String> failedFiles) {
+					// Mark the translation as using a fallback if applicable
+					if (pending.usingFallback && translatedValue != null && !translatedValue.trim().isEmpty()) {
+						translatedValue += " (auto)";
 					}
 
-					// If there are failed translations, show a dialog
-					if (!failedFiles.isEmpty()) {
-						FileWarningDialog.show(failedFiles, "Translation failed for the following files:");
+					// Update the value in the file and both tables
+					String value = translatedValue;
+					try {
+						translationKeyManager.updateKeyInFile(pending.targetLanguage, pending.key, value, pending.filePath);
+						SwingUtilities.invokeLater(() ->
+								translationKeyManager.updateColumnValue(pending.targetLanguage, pending.key, value, editDialogTableModel));
+					} catch (IOException ex) {
+						failedFiles.put(Path.of(pending.filePath) + " (" + pending.key + ")", ex.getMessage());
 					}
 				}
 
@@ -296,7 +373,7 @@ public class TranslationManager {
 						get(); // Wait for the doInBackground method to complete
 					} catch (Exception ex) {
 						JOptionPane.showMessageDialog(null, "Error during translation: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-						System.out.printf("Error during translation: %s%n", ex.getMessage());
+						logger.log(Level.WARNING, "Error during translation", ex);
 					} finally {
 						translateButtons.setEnabled(true);
 					}
@@ -306,5 +383,23 @@ public class TranslationManager {
 			worker.execute();
 		});
 	}
-}
 
+	/**
+	 * A row waiting for its translation
+	 */
+	private static class PendingTranslation {
+		private final String targetLanguage;
+		private final String key;
+		private final String filePath;
+		private final String text;
+		private final boolean usingFallback;
+
+		PendingTranslation(String targetLanguage, String key, String filePath, String text, boolean usingFallback) {
+			this.targetLanguage = targetLanguage;
+			this.key = key;
+			this.filePath = filePath;
+			this.text = text;
+			this.usingFallback = usingFallback;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.gui.model;
+
+import com.gui.contsants.LanguagesConstant;
+
+/**
+ * A value whose detected language differs from the language of its file
+ */
+public class AuditFinding {
+	private final LanguagesConstant language;
+	private final String detectedLanguage;
+	private final String key;
+	private final String value;
+	private final String path;
+	private final int lineNumber;
+
+	public AuditFinding(LanguagesConstant language, String detectedLanguage, String key, String value, String path,
+			int lineNumber) {
+		this.language = language;
+		this.detectedLanguage = detectedLanguage;
+		this.key = key;
+		this.value = value;
+		this.path = path;
+		this.lineNumber = lineNumber;
+	}
+
+	public LanguagesConstant getLanguage() {
+		return language;
+	}
+
+	public String getDetectedLanguage() {
+		return detectedLanguage;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return The 1-based line number of the entry, or 0 if unknown
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+}
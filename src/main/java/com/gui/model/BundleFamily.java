@@ -0,0 +1,81 @@
+package com.gui.model;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.gui.contsants.LanguagesConstant;
+
+/**
+ * All language files of one bundle, the files with the same directory and base name,
+ * e.g. messages_de.properties and messages_fr.properties.
+ * Values of a key are looked up in every language through the hash index of {@link PropertiesEntries}.
+ */
+public class BundleFamily {
+
+	private final Path path;
+	private final Map<LanguagesConstant, LanguageProperties> files = new EnumMap<>(LanguagesConstant.class);
+
+	/**
+	 * @param path The path of the family, the file path without the language code
+	 */
+	public BundleFamily(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Gets the path that identifies the family of a language file, the file path without the language code,
+	 * e.g. "mod/messages.properties" for "mod/messages_de.properties"
+	 */
+	public static Path getFamilyPath(Path file, LanguagesConstant lang) {
+		String fileName = file.getFileName().toString();
+		int codeStart = "messages".length();
+		String baseName = fileName.substring(0, codeStart) + fileName.substring(codeStart + 1 + lang.getLanguageCode().length());
+		return file.resolveSibling(baseName);
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	public synchronized void put(LanguageProperties languageProperties) {
+		files.put(languageProperties.getLanguage(), languageProperties);
+	}
+
+	public synchronized void remove(Path file) {
+		files.values().removeIf(languageProperties -> languageProperties.getPath().equals(file));
+	}
+
+	public synchronized boolean isEmpty() {
+		return files.isEmpty();
+	}
+
+	/**
+	 * Gets the file of a language
+	 *
+	 * @return The file, or null if the family has no file for the language
+	 */
+	public synchronized LanguageProperties getFile(LanguagesConstant lang) {
+		return files.get(lang);
+	}
+
+	/**
+	 * Gets a snapshot of the files of all languages, ordered by language
+	 */
+	public synchronized Map<LanguagesConstant, LanguageProperties> getFiles() {
+		return new EnumMap<>(files);
+	}
+
+	/**
+	 * Gets the value of a key in every language of the family
+	 *
+	 * @return The values by language, null for languages whose file does not have the key
+	 */
+	public synchronized Map<LanguagesConstant, String> getValues(String key) {
+		Map<LanguagesConstant, String> values = new EnumMap<>(LanguagesConstant.class);
+		for (LanguageProperties file : files.values()) {
+			values.put(file.getLanguage(), file.getProperties().getProperty(key));
+		}
+		return values;
+	}
+}
@@ -0,0 +1,68 @@
+package com.gui.model;
+
+import com.gui.contsants.LanguagesConstant;
+
+/**
+ * A key that is missing in, or only present in, one language file of a bundle family
+ */
+public class CompletenessFinding {
+
+	public enum Type {
+		// In the reference language, but not in this one
+		MISSING("missing"),
+		// Not in the reference language, but in at least one other language
+		EXTRA("extra"),
+		// Only in this language file
+		ORPHANED("orphaned");
+
+		private final String label;
+
+		Type(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	private final Type type;
+	private final LanguagesConstant language;
+	private final String key;
+	private final String path;
+	private final int lineNumber;
+
+	public CompletenessFinding(Type type, LanguagesConstant language, String key, String path, int lineNumber) {
+		this.type = type;
+		this.language = language;
+		this.key = key;
+		this.path = path;
+		this.lineNumber = lineNumber;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public LanguagesConstant getLanguage() {
+		return language;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The language file the key is missing in or belongs to
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return The 1-based line number of the entry, or 0 for missing keys
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+}
@@ -1,18 +1,25 @@
 package com.gui.model;
 
 import java.nio.file.Path;
-import java.util.Properties;
+
+import com.gui.contsants.LanguagesConstant;
 
 public class LanguageProperties {
-	private final Properties properties;
+	private final LanguagesConstant language;
+	private final PropertiesEntries properties;
 	private final Path path;
 
-	public LanguageProperties(Properties properties, Path path) {
+	public LanguageProperties(LanguagesConstant language, PropertiesEntries properties, Path path) {
+		this.language = language;
 		this.properties = properties;
 		this.path = path;
 	}
 
-	public Properties getProperties() {
+	public LanguagesConstant getLanguage() {
+		return language;
+	}
+
+	public PropertiesEntries getProperties() {
 		return properties;
 	}
 
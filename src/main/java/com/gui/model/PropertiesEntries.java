@@ -0,0 +1,142 @@
+package com.gui.model;
+
+import java.util.Arrays;
+
+/**
+ * Ordered key/value content of a properties file.
+ * Entries are kept in parallel arrays in file order together with the line they start on,
+ * keys are looked up through an open-addressing hash table without per-entry objects.
+ * A key that occurs more than once keeps its first position and takes the last value, like java.util.Properties.
+ */
+public class PropertiesEntries {
+
+	private String[] keys;
+	private String[] values;
+	private int[] lineNumbers;
+	private int size;
+
+	// Slots hold the entry index + 1, 0 marks an empty slot
+	private int[] table;
+
+	public PropertiesEntries() {
+		this(16);
+	}
+
+	public PropertiesEntries(int expectedSize) {
+		int capacity = Math.max(expectedSize, 4);
+		keys = new String[capacity];
+		values = new String[capacity];
+		lineNumbers = new int[capacity];
+		table = new int[tableSizeFor(capacity)];
+	}
+
+	/**
+	 * Adds an entry or replaces the value of an existing key
+	 *
+	 * @param key The key
+	 * @param value The value
+	 * @param lineNumber The line the entry starts on, 1-based
+	 */
+	public void put(String key, String value, int lineNumber) {
+		int slot = findSlot(key);
+		if (table[slot] != 0) {
+			int index = table[slot] - 1;
+			values[index] = value;
+			lineNumbers[index] = lineNumber;
+			return;
+		}
+
+		if (size == keys.length) {
+			grow();
+			slot = findSlot(key);
+		}
+		keys[size] = key;
+		values[size] = value;
+		lineNumbers[size] = lineNumber;
+		size++;
+		table[slot] = size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public String getKey(int index) {
+		return keys[index];
+	}
+
+	public String getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Gets the line the entry at the given index starts on
+	 *
+	 * @return The 1-based line number, or 0 if unknown
+	 */
+	public int getLineNumber(int index) {
+		return lineNumbers[index];
+	}
+
+	/**
+	 * Gets the position of a key in file order
+	 *
+	 * @return The index of the key, or -1 if the key does not exist
+	 */
+	public int indexOf(String key) {
+		return table[findSlot(key)] - 1;
+	}
+
+	public boolean containsKey(String key) {
+		return indexOf(key) >= 0;
+	}
+
+	public String getProperty(String key) {
+		int index = indexOf(key);
+		return index >= 0 ? values[index] : null;
+	}
+
+	public String getProperty(String key, String defaultValue) {
+		int index = indexOf(key);
+		return index >= 0 ? values[index] : defaultValue;
+	}
+
+	private int findSlot(String key) {
+		int mask = table.length - 1;
+		int slot = mix(key.hashCode()) & mask;
+		while (table[slot] != 0 && !keys[table[slot] - 1].equals(key)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void grow() {
+		int capacity = keys.length * 2;
+		keys = Arrays.copyOf(keys, capacity);
+		values = Arrays.copyOf(values, capacity);
+		lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+
+		table = new int[tableSizeFor(capacity)];
+		int mask = table.length - 1;
+		for (int index = 0; index < size; index++) {
+			int slot = mix(keys[index].hashCode()) & mask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = index + 1;
+		}
+	}
+
+	// Keeps the load factor at or below 0.5
+	private static int tableSizeFor(int capacity) {
+		return Integer.highestOneBit(capacity * 2 - 1) << 1;
+	}
+
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
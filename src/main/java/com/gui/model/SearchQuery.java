@@ -0,0 +1,243 @@
+package com.gui.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A search over keys, values and file paths of the translation table
+ */
+public class SearchQuery {
+
+	public enum Mode {
+		CONTAINS("Contains"),
+		PREFIX("Starts with"),
+		REGEX("Regex");
+
+		private final String label;
+
+		Mode(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	private final Mode mode;
+	private final String text;
+	private final boolean matchCase;
+	private final Pattern pattern;
+
+	/**
+	 * @param mode How the text is matched
+	 * @param text The search text, or a regular expression that has to be found somewhere in the column
+	 * @param matchCase Whether upper and lower case have to match
+	 * @throws java.util.regex.PatternSyntaxException If the regular expression is invalid
+	 */
+	public SearchQuery(Mode mode, String text, boolean matchCase) {
+		this.mode = mode;
+		this.text = text;
+		this.matchCase = matchCase;
+		this.pattern = mode == Mode.REGEX
+				? Pattern.compile(text, matchCase ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+				: null;
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public boolean isMatchCase() {
+		return matchCase;
+	}
+
+	public boolean matches(String value) {
+		switch (mode) {
+		case PREFIX:
+			return value.regionMatches(!matchCase, 0, text, 0, text.length());
+		case REGEX:
+			return pattern.matcher(value).find();
+		default:
+			return matchCase ? value.contains(text) : containsIgnoreCase(value);
+		}
+	}
+
+	private boolean containsIgnoreCase(String value) {
+		if (text.isEmpty()) {
+			return true;
+		}
+		char first = text.charAt(0);
+		char firstLower = Character.toLowerCase(first);
+		char firstUpper = Character.toUpperCase(first);
+		for (int i = 0; i <= value.length() - text.length(); i++) {
+			char c = value.charAt(i);
+			// Only non-ASCII characters can be equal ignoring case without being one of the two
+			if ((c == firstLower || c == firstUpper || c >= 0x80)
+					&& value.regionMatches(true, i, text, 0, text.length())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the texts a match has to contain, used to narrow the rows down before they are matched.
+	 * A regular expression with top-level alternatives has one list per alternative.
+	 *
+	 * @return For each alternative the literals it requires, an empty list if nothing is known about it
+	 */
+	List<List<String>> getRequiredLiterals() {
+		List<List<String>> alternatives = new ArrayList<>();
+		if (mode != Mode.REGEX) {
+			alternatives.add(List.of(text));
+			return alternatives;
+		}
+		if (text.contains("\\Q")) {
+			alternatives.add(List.of());
+			return alternatives;
+		}
+		int start = 0;
+		for (int end : getAlternativeEnds()) {
+			alternatives.add(getRequiredLiterals(text.substring(start, end)));
+			start = end + 1;
+		}
+		return alternatives;
+	}
+
+	/**
+	 * Gets the positions of the top-level "|" and the end of the pattern
+	 */
+	private List<Integer> getAlternativeEnds() {
+		List<Integer> ends = new ArrayList<>();
+		int depth = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\\') {
+				i = skipEscape(text, i);
+			} else if (c == '[') {
+				i = skipCharacterClass(text, i);
+			} else if (c == '(') {
+				depth++;
+			} else if (c == ')') {
+				depth--;
+			} else if (c == '|' && depth == 0) {
+				ends.add(i);
+			}
+		}
+		ends.add(text.length());
+		return ends;
+	}
+
+	private static List<String> getRequiredLiterals(String regex) {
+		// Groups are skipped as a whole, so alternatives inside them do not matter
+		List<String> literals = new ArrayList<>();
+		StringBuilder run = new StringBuilder();
+		int depth = 0;
+		for (int i = 0; i < regex.length(); i++) {
+			char c = regex.charAt(i);
+			if (depth > 0 || "([.^$+".indexOf(c) >= 0) {
+				addLiteral(literals, run);
+				if (c == '(') {
+					depth++;
+				} else if (c == ')') {
+					depth--;
+				} else if (c == '\\') {
+					i = skipEscape(regex, i);
+				} else if (c == '[') {
+					i = skipCharacterClass(regex, i);
+				}
+				continue;
+			}
+			if (c == '?' || c == '*' || c == '{') {
+				// The last character is optional
+				if (run.length() > 0) {
+					run.setLength(run.length() - 1);
+				}
+				addLiteral(literals, run);
+				if (c == '{') {
+					int end = regex.indexOf('}', i);
+					i = end < 0 ? regex.length() : end;
+				}
+				continue;
+			}
+			if (c == '\\' && i + 1 < regex.length()) {
+				char escaped = regex.charAt(i + 1);
+				if (Character.isLetterOrDigit(escaped)) {
+					// A character class, back reference or character code like \x41, nothing is known about it
+					addLiteral(literals, run);
+					i = skipEscape(regex, i);
+				} else {
+					run.append(escaped);
+					i++;
+				}
+				continue;
+			}
+			run.append(c);
+		}
+		addLiteral(literals, run);
+		return literals;
+	}
+
+	/**
+	 * Skips an escape sequence, e.g. \d, \x{41}, \u00e9, \0101, \cA, \k<name> or \p{Lu}
+	 *
+	 * @param start The position of the backslash
+	 * @return The position of the last character of the escape
+	 */
+	private static int skipEscape(String regex, int start) {
+		int i = start + 1;
+		int last = regex.length() - 1;
+		char escaped = regex.charAt(i);
+		boolean braced = i < last && regex.charAt(i + 1) == '{';
+		switch (escaped) {
+		case 'x':
+			return braced ? skipTo(regex, i + 1, '}') : Math.min(i + 2, last);
+		case 'u':
+			return Math.min(i + 4, last);
+		case 'c':
+			return Math.min(i + 1, last);
+		case 'k':
+			return skipTo(regex, i + 1, '>');
+		case 'p':
+		case 'P':
+		case 'N':
+			return braced ? skipTo(regex, i + 1, '}') : Math.min(i + 1, last);
+		default:
+			// Octal codes and back references may have several digits
+			while (Character.isDigit(escaped) && i < last && Character.isDigit(regex.charAt(i + 1))) {
+				i++;
+			}
+			return i;
+		}
+	}
+
+	private static int skipTo(String regex, int start, char end) {
+		int i = regex.indexOf(end, start);
+		return i < 0 ? regex.length() - 1 : i;
+	}
+
+	private static int skipCharacterClass(String regex, int start) {
+		for (int i = start + 1; i < regex.length(); i++) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i = skipEscape(regex, i);
+			} else if (c == ']' && i > start + 1) {
+				return i;
+			}
+		}
+		return regex.length();
+	}
+
+	private static void addLiteral(List<String> literals, StringBuilder run) {
+		if (run.length() > 0) {
+			literals.add(run.toString());
+			run.setLength(0);
+		}
+	}
+}
@@ -0,0 +1,445 @@
+package com.gui.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javax.swing.table.AbstractTableModel;
+
+import com.gui.contsants.LanguagesConstant;
+import com.gui.core.TranslationScanner;
+
+/**
+ * Table model of the main translation table.
+ * Rows are stored column by column in arrays: the language as enum ordinal, interned keys, values
+ * and the file path as index into a path table, so a row costs a few bytes instead of a Vector per row.
+ * Rows are collected off the EDT in {@link Rows} and applied in bulk with a single table event.
+ * Appended rows are added to a {@link TrigramIndex} right away, so searches only match the candidate rows.
+ */
+public class TranslationTableModel extends AbstractTableModel {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int LANGUAGE_COLUMN = 0;
+	public static final int KEY_COLUMN = 1;
+	public static final int VALUE_COLUMN = 2;
+	public static final int PATH_COLUMN = 3;
+
+	private static final String[] COLUMN_NAMES = { "Language", "Key", "Value", "File Path" };
+	private static final LanguagesConstant[] LANGUAGES = LanguagesConstant.values();
+
+	private byte[] languageIds = new byte[0];
+	private String[] keys = new String[0];
+	private String[] values = new String[0];
+	private int[] pathIds = new int[0];
+	private int rowCount;
+
+	private final List<String> paths = new ArrayList<>();
+	private final Map<String, Integer> pathIndex = new HashMap<>();
+
+	// Open-addressing index of (language, key) to the first model row, slots hold the row + 1.
+	// Rows are indexed lazily up to rowCount, removing rows invalidates the whole index.
+	private int[] rowIndex = new int[0];
+	private int indexedRows;
+
+	// Rebuilt on the next search once rows were removed, since row numbers shift
+	private final TrigramIndex searchIndex = new TrigramIndex();
+	private boolean searchIndexStale;
+	private int modificationCount;
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return COLUMN_NAMES.length;
+	}
+
+	@Override
+	public String getColumnName(int column) {
+		return COLUMN_NAMES[column];
+	}
+
+	@Override
+	public Class<?> getColumnClass(int column) {
+		return column == LANGUAGE_COLUMN ? Locale.class : String.class;
+	}
+
+	@Override
+	public boolean isCellEditable(int row, int column) {
+		return column == VALUE_COLUMN;  // Nur die Value-Spalte ist editierbar
+	}
+
+	@Override
+	public Object getValueAt(int row, int column) {
+		switch (column) {
+		case LANGUAGE_COLUMN:
+			return getLanguage(row).getLocale();
+		case KEY_COLUMN:
+			return keys[row];
+		case VALUE_COLUMN:
+			return values[row];
+		case PATH_COLUMN:
+			return paths.get(pathIds[row]);
+		default:
+			throw new IndexOutOfBoundsException("Invalid column: " + column);
+		}
+	}
+
+	@Override
+	public void setValueAt(Object value, int row, int column) {
+		if (column != VALUE_COLUMN) {
+			return;
+		}
+		values[row] = value == null ? "" : value.toString();
+		searchIndex.markChanged(row);
+		modificationCount++;
+		fireTableCellUpdated(row, column);
+	}
+
+	public LanguagesConstant getLanguage(int row) {
+		return LANGUAGES[languageIds[row]];
+	}
+
+	public String getKey(int row) {
+		return keys[row];
+	}
+
+	public String getValue(int row) {
+		return values[row];
+	}
+
+	public String getFilePath(int row) {
+		return paths.get(pathIds[row]);
+	}
+
+	/**
+	 * Finds the first model row of a key in a language. Model rows are not affected by sorting or filtering of the view.
+	 *
+	 * @param language The language
+	 * @param key The translation key
+	 * @return The model row, or -1 if the key does not exist in the language
+	 */
+	public int findRow(LanguagesConstant language, String key) {
+		updateRowIndex();
+		int mask = rowIndex.length - 1;
+		int slot = hash(language.ordinal(), key) & mask;
+		while (rowIndex[slot] != 0) {
+			int row = rowIndex[slot] - 1;
+			if (languageIds[row] == language.ordinal() && keys[row].equals(key)) {
+				return row;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the first model row of a key in a language
+	 *
+	 * @param locale The locale as shown in the language column, e.g. "de"
+	 * @param key The translation key
+	 * @return The model row, or -1 if the language is unknown or the key does not exist in the language
+	 */
+	public int findRow(String locale, String key) {
+		for (LanguagesConstant language : LANGUAGES) {
+			if (language.getLocale().toString().equals(locale)) {
+				return findRow(language, key);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets a counter that changes whenever rows or values change, to tell whether a search result is outdated
+	 */
+	public int getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Finds all rows whose key, value or file path matches the query.
+	 * Key and value are narrowed down through the trigram index first, file paths are matched once per file.
+	 *
+	 * @return The matching model rows
+	 */
+	public BitSet search(SearchQuery query) {
+		if (searchIndexStale) {
+			searchIndex.clear();
+			searchIndexStale = false;
+		}
+		for (int row = searchIndex.size(); row < rowCount; row++) {
+			searchIndex.add(keys[row], values[row]);
+		}
+
+		boolean[] pathMatches = new boolean[paths.size()];
+		boolean anyPathMatches = false;
+		for (int pathId = 0; pathId < pathMatches.length; pathId++) {
+			pathMatches[pathId] = query.matches(paths.get(pathId));
+			anyPathMatches |= pathMatches[pathId];
+		}
+
+		BitSet candidates = searchIndex.getCandidates(query.getRequiredLiterals());
+		BitSet result = new BitSet(rowCount);
+		if (candidates == null) {
+			for (int row = 0; row < rowCount; row++) {
+				if (pathMatches[pathIds[row]] || query.matches(keys[row]) || query.matches(values[row])) {
+					result.set(row);
+				}
+			}
+			return result;
+		}
+
+		for (int row = candidates.nextSetBit(0); row >= 0 && row < rowCount; row = candidates.nextSetBit(row + 1)) {
+			if (query.matches(keys[row]) || query.matches(values[row])) {
+				result.set(row);
+			}
+		}
+		if (anyPathMatches) {
+			for (int row = 0; row < rowCount; row++) {
+				if (pathMatches[pathIds[row]]) {
+					result.set(row);
+				}
+			}
+		}
+		return result;
+	}
+
+	private void updateRowIndex() {
+		if (rowCount * 2 > rowIndex.length) {
+			// Keeps the load factor at or below 0.5
+			rowIndex = new int[Integer.highestOneBit(Math.max(rowCount, 8) * 4 - 1)];
+			indexedRows = 0;
+		}
+		int mask = rowIndex.length - 1;
+		for (int row = indexedRows; row < rowCount; row++) {
+			int slot = hash(languageIds[row], keys[row]) & mask;
+			boolean duplicate = false;
+			while (rowIndex[slot] != 0) {
+				int indexed = rowIndex[slot] - 1;
+				if (languageIds[indexed] == languageIds[row] && keys[indexed].equals(keys[row])) {
+					// The first row of a key wins, like the former linear search
+					duplicate = true;
+					break;
+				}
+				slot = (slot + 1) & mask;
+			}
+			if (!duplicate) {
+				rowIndex[slot] = row + 1;
+			}
+		}
+		indexedRows = rowCount;
+	}
+
+	private void invalidateRowIndex() {
+		Arrays.fill(rowIndex, 0);
+		indexedRows = 0;
+	}
+
+	private static int hash(int languageId, String key) {
+		int hash = key.hashCode() * 31 + languageId;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Removes all rows
+	 */
+	public void clear() {
+		paths.clear();
+		pathIndex.clear();
+		Arrays.fill(keys, 0, rowCount, null);
+		Arrays.fill(values, 0, rowCount, null);
+		rowCount = 0;
+		invalidateRowIndex();
+		searchIndex.clear();
+		searchIndexStale = false;
+		modificationCount++;
+		fireTableDataChanged();
+	}
+
+	/**
+	 * Appends chunks of rows at the end of the table with a single insert event
+	 *
+	 * @param chunks The rows to append
+	 */
+	public void appendRows(List<Rows> chunks) {
+		int added = 0;
+		for (Rows rows : chunks) {
+			added += rows.size;
+		}
+		if (added == 0) {
+			return;
+		}
+
+		int firstRow = rowCount;
+		ensureCapacity(rowCount + added);
+		for (Rows rows : chunks) {
+			append(rows);
+		}
+		fireTableRowsInserted(firstRow, rowCount - 1);
+	}
+
+	/**
+	 * Removes the rows of all files matching the filter and appends the given rows in one step
+	 *
+	 * @param removedPath Decides for each file path whether its rows are removed
+	 * @param added The rows to append
+	 */
+	public void replaceFiles(Predicate<String> removedPath, Rows added) {
+		// Decide once per file instead of once per row
+		boolean[] removed = new boolean[paths.size()];
+		for (int pathId = 0; pathId < removed.length; pathId++) {
+			removed[pathId] = removedPath.test(paths.get(pathId));
+		}
+
+		int kept = 0;
+		for (int row = 0; row < rowCount; row++) {
+			if (!removed[pathIds[row]]) {
+				languageIds[kept] = languageIds[row];
+				keys[kept] = keys[row];
+				values[kept] = values[row];
+				pathIds[kept] = pathIds[row];
+				kept++;
+			}
+		}
+		Arrays.fill(keys, kept, rowCount, null);
+		Arrays.fill(values, kept, rowCount, null);
+		if (kept < rowCount) {
+			invalidateRowIndex();
+			searchIndexStale = true;
+		}
+		rowCount = kept;
+
+		ensureCapacity(rowCount + added.size);
+		append(added);
+		fireTableDataChanged();
+	}
+
+	private void append(Rows rows) {
+		// Map the path table of the rows onto the path table of the model
+		int[] pathMapping = new int[rows.paths.size()];
+		for (int i = 0; i < pathMapping.length; i++) {
+			String path = rows.paths.get(i);
+			Integer pathId = pathIndex.get(path);
+			if (pathId == null) {
+				pathId = paths.size();
+				paths.add(path);
+				pathIndex.put(path, pathId);
+			}
+			pathMapping[i] = pathId;
+		}
+
+		System.arraycopy(rows.languageIds, 0, languageIds, rowCount, rows.size);
+		System.arraycopy(rows.keys, 0, keys, rowCount, rows.size);
+		System.arraycopy(rows.values, 0, values, rowCount, rows.size);
+		for (int i = 0; i < rows.size; i++) {
+			pathIds[rowCount + i] = pathMapping[rows.pathIds[i]];
+		}
+		if (!searchIndexStale && searchIndex.size() == rowCount) {
+			for (int i = 0; i < rows.size; i++) {
+				searchIndex.add(rows.keys[i], rows.values[i]);
+			}
+		}
+		rowCount += rows.size;
+		modificationCount++;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= keys.length) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, keys.length + (keys.length >> 1));
+		languageIds = Arrays.copyOf(languageIds, newCapacity);
+		keys = Arrays.copyOf(keys, newCapacity);
+		values = Arrays.copyOf(values, newCapacity);
+		pathIds = Arrays.copyOf(pathIds, newCapacity);
+	}
+
+	/**
+	 * Rows collected for the model, in the same columnar layout.
+	 * Not thread-safe, but may be filled on any thread before it is handed to the model on the EDT.
+	 */
+	public static class Rows {
+		private byte[] languageIds;
+		private String[] keys;
+		private String[] values;
+		private int[] pathIds;
+		private int size;
+
+		private final List<String> paths = new ArrayList<>();
+		private final Map<String, Integer> pathIndex = new HashMap<>();
+
+		public Rows() {
+			this(1024);
+		}
+
+		public Rows(int expectedSize) {
+			int capacity = Math.max(expectedSize, 16);
+			languageIds = new byte[capacity];
+			keys = new String[capacity];
+			values = new String[capacity];
+			pathIds = new int[capacity];
+		}
+
+		/**
+		 * Adds the rows of one file, keeping only empty or "(xx)"-marked values if requested
+		 *
+		 * @param languageProps The parsed file
+		 * @param searchUnsetOnly Whether only unset keys are shown
+		 */
+		public void addFile(LanguageProperties languageProps, boolean searchUnsetOnly) {
+			LanguagesConstant lang = languageProps.getLanguage();
+			PropertiesEntries properties = languageProps.getProperties();
+			String filePath = languageProps.getPath().toString();
+
+			for (int i = 0; i < properties.size(); i++) {
+				String key = properties.getKey(i);
+				String value = properties.getValue(i).trim();  // Trim Leerzeichen
+
+				if (searchUnsetOnly) {
+					if (TranslationScanner.isUnset(value)) {
+						add(lang, key, value.isEmpty() ? " " : value, filePath);
+					}
+				} else {
+					add(lang, key, value, filePath);
+				}
+			}
+		}
+
+		/**
+		 * Adds a row. Keys are interned, because every key occurs once per language.
+		 */
+		public void add(LanguagesConstant language, String key, String value, String filePath) {
+			if (size == keys.length) {
+				int capacity = size * 2;
+				languageIds = Arrays.copyOf(languageIds, capacity);
+				keys = Arrays.copyOf(keys, capacity);
+				values = Arrays.copyOf(values, capacity);
+				pathIds = Arrays.copyOf(pathIds, capacity);
+			}
+			Integer pathId = pathIndex.get(filePath);
+			if (pathId == null) {
+				pathId = paths.size();
+				paths.add(filePath);
+				pathIndex.put(filePath, pathId);
+			}
+
+			languageIds[size] = (byte) language.ordinal();
+			keys[size] = key.intern();
+			values[size] = value;
+			pathIds[size] = pathId;
+			size++;
+		}
+
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,252 @@
+package com.gui.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Inverted index from the case-folded character trigrams of key and value to the table rows containing them.
+ * Rows have to be added in ascending order, so each posting list is stored as varint-encoded row deltas.
+ * Trigrams are looked up through an open-addressing table of packed chars, like the row index of the model.
+ * The index only narrows the rows down, every candidate is matched against its actual columns afterwards.
+ */
+class TrigramIndex {
+
+	// Slots hold the packed trigram with a marker bit, 0 marks an empty slot
+	private long[] slotTrigrams = new long[1024];
+	private int[] slotPostings = new int[1024];
+
+	private byte[][] postingBytes = new byte[256][];
+	private int[] postingLengths = new int[256];
+	private int[] postingLastRows = new int[256];
+	private int[] postingSizes = new int[256];
+	private int postingCount;
+
+	private int rowCount;
+	// Rows whose value changed after they were indexed are always candidates
+	private final BitSet changedRows = new BitSet();
+
+	/**
+	 * Gets the number of indexed rows, the next row to add
+	 */
+	int size() {
+		return rowCount;
+	}
+
+	void clear() {
+		slotTrigrams = new long[1024];
+		slotPostings = new int[1024];
+		postingBytes = new byte[256][];
+		postingLengths = new int[256];
+		postingLastRows = new int[256];
+		postingSizes = new int[256];
+		postingCount = 0;
+		rowCount = 0;
+		changedRows.clear();
+	}
+
+	/**
+	 * Indexes the next row
+	 */
+	void add(String key, String value) {
+		int row = rowCount++;
+		addText(row, key);
+		addText(row, value);
+	}
+
+	void markChanged(int row) {
+		if (row < rowCount) {
+			changedRows.set(row);
+		}
+	}
+
+	/**
+	 * Gets the rows that may match one of the alternatives
+	 *
+	 * @param alternatives For each alternative the texts a match has to contain
+	 * @return The candidate rows, or null if an alternative cannot be narrowed down
+	 */
+	BitSet getCandidates(List<List<String>> alternatives) {
+		BitSet candidates = new BitSet();
+		for (List<String> literals : alternatives) {
+			BitSet alternativeCandidates = getCandidatesOfAll(literals);
+			if (alternativeCandidates == null) {
+				return null;
+			}
+			candidates.or(alternativeCandidates);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Gets the rows that may contain all literals
+	 *
+	 * @return The candidate rows, or null if none of the literals is long enough to narrow the rows down
+	 */
+	private BitSet getCandidatesOfAll(List<String> literals) {
+		List<Integer> postings = new ArrayList<>();
+		for (String literal : literals) {
+			for (int i = 0; i + 3 <= literal.length(); i++) {
+				int posting = findPosting(pack(literal.charAt(i), literal.charAt(i + 1), literal.charAt(i + 2)));
+				if (posting < 0) {
+					// No row has this trigram
+					return (BitSet) changedRows.clone();
+				}
+				postings.add(posting);
+			}
+		}
+		if (postings.isEmpty()) {
+			return null;
+		}
+
+		// Start with the rarest trigram, the result only shrinks from there
+		postings.sort(Comparator.comparingInt(posting -> postingSizes[posting]));
+		BitSet candidates = decode(postings.get(0));
+		for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+			// Matching a few candidates is cheaper than decoding a much longer list
+			if (postingSizes[postings.get(i)] > candidates.cardinality() * 16L) {
+				break;
+			}
+			candidates.and(decode(postings.get(i)));
+		}
+		candidates.or(changedRows);
+		return candidates;
+	}
+
+	private void addText(int row, String text) {
+		if (text == null || text.length() < 3) {
+			return;
+		}
+		char c0 = text.charAt(0);
+		char c1 = text.charAt(1);
+		for (int i = 2; i < text.length(); i++) {
+			char c2 = text.charAt(i);
+			addPosting(getOrCreatePosting(pack(c0, c1, c2)), row);
+			c0 = c1;
+			c1 = c2;
+		}
+	}
+
+	private void addPosting(int posting, int row) {
+		// A trigram that occurs more than once in a row is stored once
+		if (postingLastRows[posting] == row) {
+			return;
+		}
+		int delta = row - postingLastRows[posting];
+		postingLastRows[posting] = row;
+		postingSizes[posting]++;
+
+		byte[] bytes = postingBytes[posting];
+		int length = postingLengths[posting];
+		if (length + 5 > bytes.length) {
+			bytes = Arrays.copyOf(bytes, bytes.length * 2 + 5);
+			postingBytes[posting] = bytes;
+		}
+		while (delta >= 0x80) {
+			bytes[length++] = (byte) (delta | 0x80);
+			delta >>>= 7;
+		}
+		bytes[length++] = (byte) delta;
+		postingLengths[posting] = length;
+	}
+
+	private BitSet decode(int posting) {
+		BitSet rows = new BitSet(rowCount);
+		byte[] bytes = postingBytes[posting];
+		int length = postingLengths[posting];
+		int row = -1;
+		int i = 0;
+		while (i < length) {
+			int delta = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = bytes[i++];
+				delta |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			row += delta;
+			rows.set(row);
+		}
+		return rows;
+	}
+
+	private int findPosting(long trigram) {
+		int mask = slotTrigrams.length - 1;
+		int slot = mix(trigram) & mask;
+		while (slotTrigrams[slot] != 0) {
+			if (slotTrigrams[slot] == trigram) {
+				return slotPostings[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private int getOrCreatePosting(long trigram) {
+		int mask = slotTrigrams.length - 1;
+		int slot = mix(trigram) & mask;
+		while (slotTrigrams[slot] != 0) {
+			if (slotTrigrams[slot] == trigram) {
+				return slotPostings[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		int posting = postingCount++;
+		if (posting == postingBytes.length) {
+			int capacity = posting * 2;
+			postingBytes = Arrays.copyOf(postingBytes, capacity);
+			postingLengths = Arrays.copyOf(postingLengths, capacity);
+			postingLastRows = Arrays.copyOf(postingLastRows, capacity);
+			postingSizes = Arrays.copyOf(postingSizes, capacity);
+		}
+		postingBytes[posting] = new byte[8];
+		postingLastRows[posting] = -1;
+		slotTrigrams[slot] = trigram;
+		slotPostings[slot] = posting;
+
+		// Keeps the load factor at or below 0.5
+		if (postingCount * 2 > slotTrigrams.length) {
+			rehash();
+		}
+		return posting;
+	}
+
+	private void rehash() {
+		long[] oldTrigrams = slotTrigrams;
+		int[] oldPostings = slotPostings;
+		slotTrigrams = new long[oldTrigrams.length * 2];
+		slotPostings = new int[oldPostings.length * 2];
+		int mask = slotTrigrams.length - 1;
+		for (int i = 0; i < oldTrigrams.length; i++) {
+			if (oldTrigrams[i] != 0) {
+				int slot = mix(oldTrigrams[i]) & mask;
+				while (slotTrigrams[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				slotTrigrams[slot] = oldTrigrams[i];
+				slotPostings[slot] = oldPostings[i];
+			}
+		}
+	}
+
+	/**
+	 * Packs three case-folded chars into one long, the marker bit keeps it from being 0
+	 */
+	private static long pack(char c0, char c1, char c2) {
+		return 1L << 48 | (long) fold(c0) << 32 | (long) fold(c1) << 16 | fold(c2);
+	}
+
+	// Same folding as String.regionMatches(true, ...), so the index never misses a case-insensitive match
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static int mix(long trigram) {
+		long hash = trigram * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+}
@@ -0,0 +1,45 @@
+package com.gui.report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes findings as CSV with a header row, fields are quoted where needed (RFC 4180)
+ */
+public class CsvReportWriter implements ReportWriter {
+
+	private final Writer out;
+
+	public CsvReportWriter(Writer out) throws IOException {
+		this.out = out;
+		out.write("type,language,file,line,key,value,message\r\n");
+	}
+
+	@Override
+	public void write(Finding finding) throws IOException {
+		out.write(String.join(",", finding.getType().getRuleId(), escape(finding.getLanguage()), escape(finding.getPath()),
+				finding.getLineNumber() > 0 ? String.valueOf(finding.getLineNumber()) : "", escape(finding.getKey()),
+				escape(finding.getValue()), escape(finding.getMessage())));
+		out.write("\r\n");
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+	/**
+	 * Quotes a CSV field if it contains a separator, a quote or a line break
+	 *
+	 * @param value The field, null is written as an empty field
+	 */
+	public static String escape(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,110 @@
+package com.gui.report;
+
+/**
+ * A problem found by a scan, written by a {@link ReportWriter}
+ */
+public class Finding {
+
+	/**
+	 * Kinds of findings, with the rule id used in SARIF reports
+	 */
+	public enum Type {
+		UNSET_KEY("unset-key", "The translation is empty"),
+		MARKED_VALUE("marked-value", "The translation was copied from another language and is marked with (xx)"),
+		UNREADABLE_FILE("unreadable-file", "The file could not be read"),
+		ENCODING_PROBLEM("encoding-problem", "The file does not match the encoding of its language");
+
+		private final String ruleId;
+		private final String description;
+
+		Type(String ruleId, String description) {
+			this.ruleId = ruleId;
+			this.description = description;
+		}
+
+		public String getRuleId() {
+			return ruleId;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+	}
+
+	private final Type type;
+	private final String language;
+	private final String path;
+	private final int lineNumber;
+	private final String key;
+	private final String value;
+	private final String message;
+
+	public Finding(Type type, String language, String path, int lineNumber, String key, String value, String message) {
+		this.type = type;
+		this.language = language;
+		this.path = path;
+		this.lineNumber = lineNumber;
+		this.key = key;
+		this.value = value;
+		this.message = message;
+	}
+
+	/**
+	 * Creates the finding of an empty or "(xx)"-marked value
+	 */
+	public static Finding unsetValue(String language, String path, int lineNumber, String key, String value) {
+		if (value.isEmpty()) {
+			return new Finding(Type.UNSET_KEY, language, path, lineNumber, key, value,
+					"Translation of '" + key + "' is empty");
+		}
+		return new Finding(Type.MARKED_VALUE, language, path, lineNumber, key, value,
+				"Translation of '" + key + "' is marked as copied from another language: " + value);
+	}
+
+	/**
+	 * Creates the finding of a file that could not be read
+	 */
+	public static Finding unreadableFile(String language, String path, String error, boolean encodingProblem) {
+		return new Finding(encodingProblem ? Type.ENCODING_PROBLEM : Type.UNREADABLE_FILE, language, path, 0, null, null, error);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return The language code, or null if unknown
+	 */
+	public String getLanguage() {
+		return language;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return The 1-based line number, or 0 for findings about a whole file
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @return The key, or null for findings about a whole file
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The value, or null for findings about a whole file
+	 */
+	public String getValue() {
+		return value;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
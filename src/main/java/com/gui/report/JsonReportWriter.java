@@ -0,0 +1,57 @@
+package com.gui.report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.json.JSONObject;
+
+/**
+ * Writes findings as a JSON object with a "findings" array and a "summary" with the number of findings per type.
+ * Every finding is written as soon as it arrives, only the counters are kept.
+ */
+public class JsonReportWriter implements ReportWriter {
+
+	private final Writer out;
+	private final long[] counts = new long[Finding.Type.values().length];
+	private boolean first = true;
+
+	public JsonReportWriter(Writer out) throws IOException {
+		this.out = out;
+		out.write("{\n  \"findings\": [");
+	}
+
+	@Override
+	public void write(Finding finding) throws IOException {
+		counts[finding.getType().ordinal()]++;
+		out.write(first ? "\n    " : ",\n    ");
+		first = false;
+
+		out.write("{\"type\": " + JSONObject.quote(finding.getType().getRuleId()));
+		if (finding.getLanguage() != null) {
+			out.write(", \"language\": " + JSONObject.quote(finding.getLanguage()));
+		}
+		out.write(", \"file\": " + JSONObject.quote(finding.getPath()));
+		if (finding.getLineNumber() > 0) {
+			out.write(", \"line\": " + finding.getLineNumber());
+		}
+		if (finding.getKey() != null) {
+			out.write(", \"key\": " + JSONObject.quote(finding.getKey()) + ", \"value\": " + JSONObject.quote(finding.getValue()));
+		}
+		out.write(", \"message\": " + JSONObject.quote(finding.getMessage()) + "}");
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			out.write(first ? "],\n  \"summary\": {" : "\n  ],\n  \"summary\": {");
+			long total = 0;
+			for (Finding.Type type : Finding.Type.values()) {
+				out.write(JSONObject.quote(type.getRuleId()) + ": " + counts[type.ordinal()] + ", ");
+				total += counts[type.ordinal()];
+			}
+			out.write("\"total\": " + total + "}\n}\n");
+		} finally {
+			out.close();
+		}
+	}
+}
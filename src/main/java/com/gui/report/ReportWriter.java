@@ -0,0 +1,50 @@
+package com.gui.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Writes findings to a report as they are found. Nothing is buffered beyond the underlying writer,
+ * so the memory needed does not grow with the number of findings.
+ */
+public interface ReportWriter extends Closeable {
+
+	String[] FORMATS = { "text", "csv", "json", "sarif" };
+
+	/**
+	 * Writes one finding
+	 */
+	void write(Finding finding) throws IOException;
+
+	/**
+	 * Completes the report and closes the underlying writer
+	 */
+	@Override
+	void close() throws IOException;
+
+	/**
+	 * Creates the writer for a report format
+	 *
+	 * @param format   One of {@link #FORMATS}
+	 * @param out      Receives the report, closed with the report writer
+	 * @param basePath The scanned directory, file locations in SARIF reports are relative to it
+	 * @return The report writer
+	 * @throws IllegalArgumentException If the format is unknown
+	 */
+	static ReportWriter create(String format, Writer out, Path basePath) throws IOException {
+		switch (format) {
+		case "text":
+			return new TextReportWriter(out);
+		case "csv":
+			return new CsvReportWriter(out);
+		case "json":
+			return new JsonReportWriter(out);
+		case "sarif":
+			return new SarifReportWriter(out, basePath);
+		default:
+			throw new IllegalArgumentException("Unknown report format: " + format);
+		}
+	}
+}
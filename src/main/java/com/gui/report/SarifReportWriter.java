@@ -0,0 +1,76 @@
+package com.gui.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.json.JSONObject;
+
+/**
+ * Writes findings as a SARIF 2.1.0 log with a single run, so code scanning dashboards can ingest them.
+ * Rules are written up front, results are streamed. File locations are relative to the scanned directory ("SRCROOT").
+ */
+public class SarifReportWriter implements ReportWriter {
+
+	private static final String TOOL_NAME = "TranslationChecker";
+
+	private final Writer out;
+	private final URI baseUri;
+	private boolean first = true;
+
+	public SarifReportWriter(Writer out, Path basePath) throws IOException {
+		this.out = out;
+		this.baseUri = basePath.toAbsolutePath().normalize().toUri();
+
+		out.write("{\n  \"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\",\n  \"version\": \"2.1.0\",\n");
+		out.write("  \"runs\": [{\n    \"tool\": {\"driver\": {\"name\": " + JSONObject.quote(TOOL_NAME) + ", \"rules\": [");
+		Finding.Type[] types = Finding.Type.values();
+		for (int i = 0; i < types.length; i++) {
+			out.write((i > 0 ? ", " : "") + "{\"id\": " + JSONObject.quote(types[i].getRuleId())
+					+ ", \"shortDescription\": {\"text\": " + JSONObject.quote(types[i].getDescription()) + "}}");
+		}
+		out.write("]}},\n");
+		out.write("    \"originalUriBaseIds\": {\"SRCROOT\": {\"uri\": " + JSONObject.quote(baseUri.toString()) + "}},\n");
+		out.write("    \"results\": [");
+	}
+
+	@Override
+	public void write(Finding finding) throws IOException {
+		out.write(first ? "\n      " : ",\n      ");
+		first = false;
+
+		boolean fileProblem = finding.getKey() == null;
+		URI uri = toUri(finding.getPath());
+		out.write("{\"ruleId\": " + JSONObject.quote(finding.getType().getRuleId())
+				+ ", \"level\": " + (fileProblem ? "\"error\"" : "\"warning\"")
+				+ ", \"message\": {\"text\": " + JSONObject.quote(finding.getMessage()) + "}"
+				+ ", \"locations\": [{\"physicalLocation\": {\"artifactLocation\": {\"uri\": " + JSONObject.quote(uri.toString())
+				+ (uri.isAbsolute() ? "}" : ", \"uriBaseId\": \"SRCROOT\"}"));
+		if (finding.getLineNumber() > 0) {
+			out.write(", \"region\": {\"startLine\": " + finding.getLineNumber() + "}");
+		}
+		out.write("}}]");
+		if (finding.getKey() != null) {
+			out.write(", \"properties\": {\"language\": " + JSONObject.quote(String.valueOf(finding.getLanguage()))
+					+ ", \"key\": " + JSONObject.quote(finding.getKey()) + "}");
+		}
+		out.write("}");
+	}
+
+	// Relative to the base directory if the file lies below it, absolute otherwise
+	private URI toUri(String path) {
+		URI fileUri = Paths.get(path).toAbsolutePath().normalize().toUri();
+		return baseUri.relativize(fileUri);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			out.write(first ? "]\n  }]\n}\n" : "\n    ]\n  }]\n}\n");
+		} finally {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.gui.report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes one line per finding, "file:line: language key (empty|marked)" or "file: error"
+ */
+public class TextReportWriter implements ReportWriter {
+
+	private final Writer out;
+
+	public TextReportWriter(Writer out) {
+		this.out = out;
+	}
+
+	@Override
+	public void write(Finding finding) throws IOException {
+		out.write(finding.getPath());
+		if (finding.getKey() != null) {
+			out.write(":" + finding.getLineNumber() + ": " + finding.getLanguage() + " " + finding.getKey()
+					+ (finding.getType() == Finding.Type.UNSET_KEY ? " (empty)" : " (marked)"));
+		} else {
+			out.write(": " + finding.getMessage());
+		}
+		out.write(System.lineSeparator());
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -0,0 +1,58 @@
+package com.gui.services;
+
+import java.io.IOException;
+
+/**
+ * Error status returned by the DeepL API
+ */
+public class DeepLException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int TOO_MANY_REQUESTS = 429;
+	public static final int QUOTA_EXCEEDED = 456;
+
+	private final int statusCode;
+	private final long retryAfterMillis;
+
+	/**
+	 * @param statusCode The HTTP status
+	 * @param responseBody The body of the response, used as message
+	 * @param retryAfter The value of the Retry-After header in seconds, or null
+	 */
+	public DeepLException(int statusCode, String responseBody, String retryAfter) {
+		super("DeepL request failed with HTTP " + statusCode + (responseBody.isEmpty() ? "" : ": " + responseBody));
+		this.statusCode = statusCode;
+		this.retryAfterMillis = parseRetryAfter(retryAfter);
+	}
+
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Gets the wait time requested by the server, or -1 if it did not send one
+	 */
+	public long getRetryAfterMillis() {
+		return retryAfterMillis;
+	}
+
+	/**
+	 * Whether the same request may succeed later: rate limiting and server errors, but not an exceeded quota
+	 */
+	public boolean isRetryable() {
+		return statusCode == TOO_MANY_REQUESTS || statusCode >= 500;
+	}
+
+	private static long parseRetryAfter(String retryAfter) {
+		if (retryAfter == null) {
+			return -1;
+		}
+		try {
+			return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+		} catch (NumberFormatException e) {
+			// HTTP dates are not used by DeepL, the backoff applies instead
+			return -1;
+		}
+	}
+}
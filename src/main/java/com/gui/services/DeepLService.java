@@ -1,71 +1,119 @@
 package com.gui.services;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.logging.Level;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
-import org.apache.hc.client5.http.classic.methods.HttpGet;
-import org.apache.hc.client5.http.classic.methods.HttpPost;
-import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.client5.http.async.methods.AbstractBinResponseConsumer;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.ParseException;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.net.WWWFormCodec;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
-import com.cybozu.labs.langdetect.Detector;
-import com.cybozu.labs.langdetect.DetectorFactory;
-import com.cybozu.labs.langdetect.LangDetectException;
 import com.gui.contsants.LanguagesConstant;
+import com.gui.contsants.SettingsConstant;
 import com.gui.manager.SettingsManager;
 
 public class DeepLService {
 
 	private static final Logger logger = Logger.getLogger(DeepLService.class.getName());
-	private static CloseableHttpClient HTTPCLIENT;
-	private static boolean profilesLoaded;
+	// Limits of a single /translate request, DeepL rejects requests above 50 texts or 128 KiB
+	private static final int MAX_TEXTS_PER_REQUEST = 50;
+	private static final int MAX_REQUEST_BYTES = 120 * 1024;
+	private static CloseableHttpAsyncClient HTTPCLIENT;
 
-	private static int characterLimit;
-	private static int characterCount;
-	private static int remainingCharacters;
-
-	public static int getCharacterLimit() {
-		return characterLimit;
+	public static long getCharacterLimit() {
+		return QuotaTracker.getInstance().getCharacterLimit();
 	}
 
-	public static int getCharacterCount() {
-		return characterCount;
+	public static long getCharacterCount() {
+		return QuotaTracker.getInstance().getCharacterCount();
 	}
 
-	public static int getRemainingCharacters() {
-		return remainingCharacters;
+	public static long getRemainingCharacters() {
+		return QuotaTracker.getInstance().getRemainingCharacters();
 	}
 
-	private static CloseableHttpClient getHttpClient() {
+	/**
+	 * Gets the shared client, creating it from the settings on first use.
+	 * The client is asynchronous and thread-safe: connections are pooled up to "api.max.connections" and kept alive
+	 * between requests, HTTP/2 is used if the server offers it.
+	 */
+	private static synchronized CloseableHttpAsyncClient getHttpClient() {
 		if (HTTPCLIENT == null) {
-			HTTPCLIENT = HttpClients.createDefault();
+			Properties settings = new SettingsManager().getSettings();
+			int maxConnections = Math.max(parseSetting(settings, SettingsConstant.DEEPL_MAX_CONNECTIONS), 1);
+
+			PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+					.setMaxConnTotal(maxConnections)
+					.setMaxConnPerRoute(maxConnections)
+					.build();
+			RequestConfig requestConfig = RequestConfig.custom()
+					.setConnectTimeout(Timeout.ofMilliseconds(parseSetting(settings, SettingsConstant.DEEPL_CONNECT_TIMEOUT_MS)))
+					.setResponseTimeout(Timeout.ofMilliseconds(parseSetting(settings, SettingsConstant.DEEPL_READ_TIMEOUT_MS)))
+					.setConnectionKeepAlive(TimeValue.ofMilliseconds(parseSetting(settings, SettingsConstant.DEEPL_KEEP_ALIVE_MS)))
+					.build();
+
+			HTTPCLIENT = HttpAsyncClients.custom()
+					.setConnectionManager(connectionManager)
+					.setDefaultRequestConfig(requestConfig)
+					.setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+					// Retries are up to the TranslationScheduler, which knows about the rate limit
+					.disableAutomaticRetries()
+					.evictExpiredConnections()
+					.build();
+			HTTPCLIENT.start();
 		}
 		return HTTPCLIENT;
 	}
 
-	public static void closeHttpClient() {
+	public static synchronized void closeHttpClient() {
 		if (HTTPCLIENT != null) {
-			try {
-				HTTPCLIENT.close();
-			} catch (IOException e) {
-				logger.log(Level.SEVERE, "Error closing HttpClient", e);
-			}
+			HTTPCLIENT.close(CloseMode.GRACEFUL);
+			HTTPCLIENT = null;
 		}
 	}
+
+	private static int parseSetting(Properties settings, SettingsConstant setting) {
+		String value = SettingsConstant.getSettingValue(settings, setting);
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			logger.warning("Invalid value for " + setting.getKey() + ": " + value);
+			return Integer.parseInt(setting.getDefaultValue());
+		}
+	}
+
 	public DeepLService() {
 		getHttpClient();
 	}
@@ -93,85 +141,225 @@ public class DeepLService {
 			return text; // Return the original empty text
 		}
 
-		if (sourceLanguage.equals("auto")) {
-			sourceLanguage = detectLanguage(text);
-			
+		sourceLanguage = resolveSourceLanguage(text, sourceLanguage);
+		if (Objects.equals(sourceLanguage, targetLanguage)) {
+			logger.info("Source language and target language are the same, returning original text");
+			return text; // Return original text if languages are the same
+		}
+		return translateBatch(List.of(text), sourceLanguage, targetLanguage).get(0);
+	}
+
+	/**
+	 * Resolves the source language of a text, detecting it if "auto" is given
+	 *
+	 * @param text           The text to be translated.
+	 * @param sourceLanguage The source language code or "auto".
+	 * @return The source language code, English if the detection failed
+	 */
+	public static String resolveSourceLanguage(String text, String sourceLanguage) {
+		if (!"auto".equals(sourceLanguage)) {
+			return sourceLanguage;
+		}
+		return resolveSourceLanguages(List.of(text), sourceLanguage).get(0);
+	}
+
+	/**
+	 * Resolves the source languages of several texts, detecting them in one batch if "auto" is given
+	 *
+	 * @param texts          The texts to be translated.
+	 * @param sourceLanguage The source language code or "auto".
+	 * @return The source language code of each text, English where the detection failed
+	 */
+	public static List<String> resolveSourceLanguages(List<String> texts, String sourceLanguage) {
+		if (!"auto".equals(sourceLanguage)) {
+			return Collections.nCopies(texts.size(), sourceLanguage);
+		}
+		List<String> detectedLanguages = new ArrayList<>(LanguageDetectionService.getInstance().detect(texts));
+		for (int i = 0; i < detectedLanguages.size(); i++) {
 			// If language detection failed, default to English as source
-			if (sourceLanguage == null) {
-				logger.info("Language detection failed, defaulting to English as source language");
-				sourceLanguage = "en";
+			if (detectedLanguages.get(i) == null) {
+				logger.fine("Language detection failed, defaulting to English as source language");
+				detectedLanguages.set(i, "en");
 			}
+		}
+		return detectedLanguages;
+	}
 
-			if(Objects.equals(sourceLanguage, targetLanguage)) {
-				logger.info("Source language and target language are the same, returning original text");
-				return text; // Return original text if languages are the same
+	/**
+	 * Translates several texts of the same language pair with as few requests as possible, one request after another.
+	 * Texts found in the {@link TranslationMemory} are not sent.
+	 *
+	 * @param texts          The texts to be translated, must not be empty strings.
+	 * @param sourceLanguage The source language code.
+	 * @param targetLanguage The target language code.
+	 * @return The translated texts, in the order of the given texts.
+	 */
+	public static List<String> translateBatch(List<String> texts, String sourceLanguage, String targetLanguage) throws IOException, ParseException {
+		// Texts that were translated before come from the translation memory
+		TranslationMemory translationMemory = TranslationMemory.getInstance();
+		String[] translations = new String[texts.size()];
+		List<String> missingTexts = new ArrayList<>();
+		List<Integer> missingIndexes = new ArrayList<>();
+		for (int i = 0; i < texts.size(); i++) {
+			translations[i] = translationMemory.get(texts.get(i), sourceLanguage, targetLanguage);
+			if (translations[i] == null) {
+				missingTexts.add(texts.get(i));
+				missingIndexes.add(i);
+			}
+		}
+
+		List<List<String>> requests = splitIntoRequests(missingTexts);
+		int translated = 0;
+		for (List<String> request : requests) {
+			for (String translation : translateRequest(request, sourceLanguage, targetLanguage)) {
+				translations[missingIndexes.get(translated++)] = translation;
 			}
 		}
 
-		// Get your API key from settings
-		SettingsManager settingsManager = new SettingsManager();
-		String authKey = settingsManager.getSettings().getProperty("api.key");
+		logger.fine(() -> "Translated " + texts.size() + " texts from " + sourceLanguage + " to " + targetLanguage
+				+ " with " + requests.size() + " requests, " + (texts.size() - missingTexts.size()) + " from the translation memory");
+		return Arrays.asList(translations);
+	}
 
-		// Prepare HTTP POST request to DeepL API
-		final HttpPost httppost = new HttpPost("https://api-free.deepl.com/v2/translate");
-		httppost.addHeader("Authorization", "DeepL-Auth-Key " + authKey);
-		httppost.addHeader("Content-Type", "application/x-www-form-urlencoded");
+	/**
+	 * Splits texts into the chunks sent with one request each, at most {@value #MAX_TEXTS_PER_REQUEST} texts and
+	 * {@value #MAX_REQUEST_BYTES} bytes of form data per chunk
+	 *
+	 * @param texts The texts to be translated
+	 * @return Consecutive views of the given list
+	 */
+	public static List<List<String>> splitIntoRequests(List<String> texts) {
+		List<List<String>> requests = new ArrayList<>();
+		int chunkStart = 0;
+		int chunkBytes = 0;
+		for (int i = 0; i < texts.size(); i++) {
+			int textBytes = formParameterLength(texts.get(i));
+			// A single text above the limit is still sent, DeepL decides whether it is too large
+			if (i > chunkStart && (i - chunkStart == MAX_TEXTS_PER_REQUEST || chunkBytes + textBytes > MAX_REQUEST_BYTES)) {
+				requests.add(texts.subList(chunkStart, i));
+				chunkStart = i;
+				chunkBytes = 0;
+			}
+			chunkBytes += textBytes;
+		}
+		if (chunkStart < texts.size()) {
+			requests.add(texts.subList(chunkStart, texts.size()));
+		}
+		return requests;
+	}
 
-		// Prepare request parameters
-		List<NameValuePair> params = new ArrayList<>();
-		params.add(new BasicNameValuePair("text", text));
+	/**
+	 * Translates texts with a single request, see {@link #splitIntoRequests(List)} for the size limits.
+	 * The translations are added to the {@link TranslationMemory}.
+	 *
+	 * @param texts          The texts to be translated, must not be empty strings.
+	 * @param sourceLanguage The source language code.
+	 * @param targetLanguage The target language code.
+	 * @return The translated texts, in the order of the given texts.
+	 * @throws DeepLException If DeepL answered with an error status
+	 */
+	public static List<String> translateRequest(List<String> texts, String sourceLanguage, String targetLanguage) throws IOException {
+		// Get your API key and URL from settings
+		Properties settings = new SettingsManager().getSettings();
+		String authKey = SettingsConstant.getSettingValue(settings, SettingsConstant.DEEPL_API_KEY);
+
+		// Prepare request parameters, one "text" parameter per text
+		List<NameValuePair> params = new ArrayList<>(texts.size() + 2);
+		for (String text : texts) {
+			params.add(new BasicNameValuePair("text", text));
+		}
 		params.add(new BasicNameValuePair("source_lang", sourceLanguage));
 		params.add(new BasicNameValuePair("target_lang", targetLanguage));
 
-		// Set entity with the form data
-		httppost.setEntity(new UrlEncodedFormEntity(params, StandardCharsets.UTF_8));
-
-		// Execute the request and get the response
-		HttpEntity entity = getHttpClient().execute(httppost).getEntity();
+		// Prepare HTTP POST request to DeepL API with the form data
+		SimpleHttpRequest request = SimpleRequestBuilder.post(getApiUrl(settings) + "/translate")
+				.addHeader("Authorization", "DeepL-Auth-Key " + authKey)
+				.setBody(WWWFormCodec.format(params, StandardCharsets.UTF_8),
+						ContentType.create("application/x-www-form-urlencoded", StandardCharsets.UTF_8))
+				.build();
 
-		if (entity != null) {
-			String responseString = EntityUtils.toString(entity);
-			JSONObject jsonResponse = new JSONObject(responseString);
+		// Execute the request, the translations are returned in the order of the texts
+		JSONObject jsonResponse;
+		try {
+			jsonResponse = execute(request);
+		} catch (DeepLException e) {
+			if (e.getStatusCode() == DeepLException.QUOTA_EXCEEDED) {
+				// The local estimate was wrong
+				QuotaTracker.getInstance().refreshLater();
+			}
+			throw e;
+		}
+		// DeepL bills the characters of the source texts
+		QuotaTracker.getInstance().recordUsage(texts.stream().mapToLong(String::length).sum());
 
-			return removeMarker(jsonResponse.getJSONArray("translations").getJSONObject(0).getString("text"));
+		JSONArray translations = jsonResponse.getJSONArray("translations");
+		if (translations.length() != texts.size()) {
+			throw new IOException("DeepL returned " + translations.length() + " translations for " + texts.size() + " texts");
 		}
 
-		return text;
+		List<String> result = new ArrayList<>(texts.size());
+		TranslationMemory translationMemory = TranslationMemory.getInstance();
+		for (int i = 0; i < translations.length(); i++) {
+			String translation = removeMarker(translations.getJSONObject(i).getString("text"));
+			translationMemory.put(texts.get(i), sourceLanguage, targetLanguage, translation);
+			result.add(translation);
+		}
+		return result;
 	}
 
 	/**
-	 * Detects the language of the given text using Apache Tika.
+	 * Executes a request and reads the JSON response. The body is consumed as it arrives, so the connection
+	 * goes back to the pool as soon as the response is complete.
 	 *
-	 * @param text The text whose language is to be detected.
-	 * @return The detected language code (e.g., "en" for English, "de" for German).
+	 * @throws DeepLException If DeepL answered with an error status
 	 */
-	public static String detectLanguage(String text) {
-		// Check if text is empty or null
-		if (text == null || text.trim().isEmpty()) {
-			logger.info("Empty text provided for language detection, returning null");
-			return null;
-		}
-		
-		// Überprüfen, ob die Sprachprofile bereits geladen wurden
-		if (!profilesLoaded) {
-			try {
-				DetectorFactory.loadProfile("src/main/java/com/gui/profiles");
-				logger.info("Successfully loaded profiles. Loaded " + DetectorFactory.getLangList().size() + " profiles.");
-				profilesLoaded = true;
-			} catch (LangDetectException e) {
-				logger.log(Level.SEVERE, "Error loading language profiles", e);
-				return null;
+	private static JSONObject execute(SimpleHttpRequest request) throws IOException {
+		Future<ApiResponse> future = getHttpClient().execute(SimpleRequestProducer.create(request), new ApiResponseConsumer(), null);
+		ApiResponse response;
+		try {
+			response = future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for DeepL");
+		} catch (ExecutionException e) {
+			// Timeouts and connection errors are IOExceptions
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
 			}
+			throw new IOException("DeepL request failed", e.getCause());
 		}
 
-		try {
-			Detector detector = DetectorFactory.create();
-			detector.append(text);
-			return detector.detect();
-		} catch (LangDetectException e) {
-			logger.log(Level.SEVERE, "Error detecting language", e);
-			return null;
+		if (response.code < 200 || response.code >= 300) {
+			throw new DeepLException(response.code, response.body, response.retryAfter);
+		}
+		return new JSONObject(response.body);
+	}
+
+	/**
+	 * Gets the URL of the DeepL API without trailing slash, e.g. "https://api-free.deepl.com/v2"
+	 */
+	private static String getApiUrl(Properties settings) {
+		String apiUrl = SettingsConstant.getSettingValue(settings, SettingsConstant.DEEPL_API_URL).trim();
+		while (apiUrl.endsWith("/")) {
+			apiUrl = apiUrl.substring(0, apiUrl.length() - 1);
 		}
+		return apiUrl;
+	}
+
+	// Length of "&text=..." in the form data
+	private static int formParameterLength(String text) {
+		return URLEncoder.encode(text, StandardCharsets.UTF_8).length() + 6;
+	}
+
+	/**
+	 * Detects the language of the given text, see {@link LanguageDetectionService}.
+	 *
+	 * @param text The text whose language is to be detected.
+	 * @return The detected language code (e.g., "en" for English, "de" for German), or null if it could not be detected.
+	 */
+	public static String detectLanguage(String text) {
+		return LanguageDetectionService.getInstance().detect(text);
 	}
 
 	private static String removeMarker(String text) {
@@ -185,39 +373,96 @@ public class DeepLService {
 				.replaceAll("\\s*\\(\\b(" + languageCodes.toUpperCase() + ")\\b\\)$", "").trim();
 	}
 
+	/**
+	 * Checks the quota against the cached usage of the {@link QuotaTracker}, which only asks DeepL if its
+	 * estimate is outdated or too low
+	 *
+	 * @param valueList The texts to be translated
+	 * @return Whether the remaining characters suffice
+	 */
 	public static boolean isEnoughTokensLeft(List<String> valueList) throws IOException, ParseException {
 
 		// Get character count of all values
 		int charCount = valueList.stream().mapToInt(String::length).sum();
 
-		SettingsManager settingsManager = new SettingsManager();
-		String authKey = settingsManager.getSettings().getProperty("api.key");
+		QuotaTracker quotaTracker = QuotaTracker.getInstance();
+		boolean enoughTokensLeft = quotaTracker.isEnoughLeft(charCount);
+
+		if (enoughTokensLeft) {
+			logger.fine("Enough tokens left. Character count: " + charCount + ", Remaining characters: " + quotaTracker.getRemainingCharacters());
+			return true;
+		}
+		logger.warning("Not enough tokens left. Character count: " + charCount + ", Remaining characters: " + quotaTracker.getRemainingCharacters());
+		return false;
+	}
+
+	/**
+	 * Gets the character usage of the current billing period
+	 *
+	 * @return The response of /usage with "character_count" and "character_limit"
+	 */
+	static JSONObject requestUsage() throws IOException {
+		Properties settings = new SettingsManager().getSettings();
+		String authKey = SettingsConstant.getSettingValue(settings, SettingsConstant.DEEPL_API_KEY);
 
 		// Prepare HTTP GET request
-		HttpGet httpGet = new HttpGet("https://api-free.deepl.com/v2/usage");
-		httpGet.addHeader("Authorization", "DeepL-Auth-Key " + authKey);
-		httpGet.addHeader("Accept", "application/json");
+		SimpleHttpRequest request = SimpleRequestBuilder.get(getApiUrl(settings) + "/usage")
+				.addHeader("Authorization", "DeepL-Auth-Key " + authKey)
+				.addHeader("Accept", "application/json")
+				.build();
 
 		// Execute the request and get the response
-		HttpEntity entity = getHttpClient().execute(httpGet).getEntity();
+		return execute(request);
+	}
 
-		if (entity != null) {
-			String responseString = EntityUtils.toString(entity);
-			JSONObject jsonResponse = new JSONObject(responseString);
+	private static class ApiResponse {
+		private final int code;
+		private final String retryAfter;
+		private final String body;
 
-			characterLimit = jsonResponse.getInt("character_limit");
-			characterCount = jsonResponse.getInt("character_count");
+		ApiResponse(int code, String retryAfter, String body) {
+			this.code = code;
+			this.retryAfter = retryAfter;
+			this.body = body;
+		}
+	}
 
-			remainingCharacters = characterLimit - characterCount;
-			boolean enoughTokensLeft = charCount <= remainingCharacters;
+	/**
+	 * Collects the body bytes as they arrive on the I/O thread. DeepL answers with UTF-8 JSON, also when the
+	 * content type names no charset.
+	 */
+	private static class ApiResponseConsumer extends AbstractBinResponseConsumer<ApiResponse> {
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		private int code;
+		private String retryAfter;
+
+		@Override
+		protected void start(HttpResponse response, ContentType contentType) {
+			code = response.getCode();
+			Header header = response.getFirstHeader("Retry-After");
+			retryAfter = header != null ? header.getValue() : null;
+		}
 
-			if (enoughTokensLeft) {
-				System.out.println("Enough tokens left. Character count: " + charCount + ", Remaining characters: " + remainingCharacters);
-				return true;
-			}
+		@Override
+		protected int capacityIncrement() {
+			return 8192;
+		}
 
+		@Override
+		protected void data(ByteBuffer data, boolean endOfStream) {
+			byte[] chunk = new byte[data.remaining()];
+			data.get(chunk);
+			body.write(chunk, 0, chunk.length);
+		}
+
+		@Override
+		protected ApiResponse buildResult() {
+			return new ApiResponse(code, retryAfter, new String(body.toByteArray(), StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void releaseResources() {
+			// Nothing to release, the body is kept in memory
 		}
-		logger.warning("Not enough tokens left. Character count: " + charCount + ", Remaining characters: " + remainingCharacters);
-		return false;
 	}
-}
\ No newline at end of file
+}
@@ -16,7 +16,18 @@ public class FileEncodingConverter {
 
     static Logger logger = Logger.getLogger(FileEncodingConverter.class.getName());
 
-    final Map<String, String> unreadableFiles = new HashMap<>();
+    final Map<String, String> unreadableFiles;
+
+    public FileEncodingConverter() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * @param unreadableFiles Receives the files that could not be converted, has to be thread-safe if shared
+     */
+    public FileEncodingConverter(Map<String, String> unreadableFiles) {
+        this.unreadableFiles = unreadableFiles;
+    }
 
     public Map<String, String> getUnreadableFiles() {
         return unreadableFiles;
@@ -0,0 +1,160 @@
+package com.gui.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.cybozu.labs.langdetect.Detector;
+import com.cybozu.labs.langdetect.DetectorFactory;
+import com.cybozu.labs.langdetect.LangDetectException;
+
+/**
+ * Detects the language of texts with the langdetect profiles bundled under com/gui/profiles.
+ * The profiles are loaded once from the classpath, each detection uses its own Detector, so the service can be
+ * used from several threads. Results are memoized per text in a bounded LRU cache.
+ */
+public class LanguageDetectionService {
+
+	private static final Logger logger = Logger.getLogger(LanguageDetectionService.class.getName());
+	private static final String PROFILE_PATH = "/com/gui/profiles/";
+	private static final String[] PROFILES = { "de", "en", "es", "fr", "hu", "lt", "nl", "ro", "ru" };
+	private static final int CACHE_SIZE = 10000;
+	// Cached for texts without a result, so failed detections are not repeated either
+	private static final String UNDETECTED = "";
+
+	private static LanguageDetectionService instance;
+
+	private final boolean profilesLoaded;
+	private final Set<String> languages = new HashSet<>();
+	private final Map<String, String> cache = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Gets the singleton instance of the LanguageDetectionService, loading the profiles on first use
+	 *
+	 * @return The LanguageDetectionService instance
+	 */
+	public static synchronized LanguageDetectionService getInstance() {
+		if (instance == null) {
+			instance = new LanguageDetectionService();
+		}
+		return instance;
+	}
+
+	private LanguageDetectionService() {
+		profilesLoaded = loadProfiles();
+		if (profilesLoaded) {
+			languages.addAll(DetectorFactory.getLangList());
+		}
+	}
+
+	private static boolean loadProfiles() {
+		List<String> profiles = new ArrayList<>();
+		for (String language : PROFILES) {
+			try (InputStream in = LanguageDetectionService.class.getResourceAsStream(PROFILE_PATH + language)) {
+				if (in == null) {
+					logger.warning("Language profile not found on the classpath: " + language);
+					continue;
+				}
+				profiles.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Error reading language profile " + language, e);
+			}
+		}
+
+		try {
+			DetectorFactory.clear();
+			DetectorFactory.loadProfile(profiles);
+			// Detection is randomized, a fixed seed gives the same language for the same text every time
+			DetectorFactory.setSeed(0);
+			logger.info("Successfully loaded profiles. Loaded " + DetectorFactory.getLangList().size() + " profiles.");
+			return true;
+		} catch (LangDetectException e) {
+			logger.log(Level.SEVERE, "Error loading language profiles", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Checks whether a language can be detected, i.e. whether a profile for it was loaded
+	 *
+	 * @param language The language code, e.g. "de"
+	 */
+	public boolean isSupported(String language) {
+		return languages.contains(language);
+	}
+
+	/**
+	 * Detects the language of a text
+	 *
+	 * @param text The text whose language is to be detected
+	 * @return The detected language code (e.g. "en" for English, "de" for German), or null if the text is empty
+	 *         or the language could not be detected
+	 */
+	public String detect(String text) {
+		if (text == null || text.trim().isEmpty() || !profilesLoaded) {
+			return null;
+		}
+		String language;
+		synchronized (cache) {
+			language = cache.get(text);
+		}
+		if (language == null) {
+			language = detectUncached(text);
+			synchronized (cache) {
+				cache.put(text, language);
+			}
+		}
+		return language.equals(UNDETECTED) ? null : language;
+	}
+
+	/**
+	 * Detects the languages of several texts. Equal texts are detected once, the others in parallel.
+	 *
+	 * @param texts The texts whose language is to be detected
+	 * @return The language codes in the order of the texts, null for texts without a detected language
+	 */
+	public List<String> detect(List<String> texts) {
+		Set<String> distinctTexts = new LinkedHashSet<>(texts);
+		Map<String, String> languages = distinctTexts.parallelStream()
+				.filter(text -> text != null)
+				.collect(Collectors.toConcurrentMap(text -> text, text -> {
+					String language = detect(text);
+					return language != null ? language : UNDETECTED;
+				}));
+
+		String[] result = new String[texts.size()];
+		for (int i = 0; i < result.length; i++) {
+			String language = texts.get(i) != null ? languages.get(texts.get(i)) : null;
+			result[i] = language == null || language.equals(UNDETECTED) ? null : language;
+		}
+		return Arrays.asList(result);
+	}
+
+	private static String detectUncached(String text) {
+		try {
+			Detector detector = DetectorFactory.create();
+			detector.append(text);
+			return detector.detect();
+		} catch (LangDetectException e) {
+			// Texts without letters, e.g. numbers or placeholders
+			logger.log(Level.FINE, "Could not detect the language of: " + text, e);
+			return UNDETECTED;
+		}
+	}
+}
@@ -1,20 +1,14 @@
 package com.gui.services;
 
 import com.gui.contsants.LanguagesConstant;
+import com.gui.core.BundleIndex;
+import com.gui.model.LanguageProperties;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Properties;
-import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class LocaleEncodingService {
 
@@ -33,44 +27,22 @@ public class LocaleEncodingService {
         return defaultEncoding;
     }
 
+    /**
+     * Gets the value and file of a key in every language of the bundle family of the given file.
+     * Served from the {@link BundleIndex}, files that changed since they were read are parsed again
+     * with the charset of their language. Updates that were not written yet are applied on top.
+     *
+     * @return Language code -> value ("" if the file does not have the key) and file path
+     */
     public Map<String, String[]> loadTranslationsForKey(String key, Path selectedFilePath) {
         Map<String, String[]> translationsWithPaths = new HashMap<>();
-
-        Path parentDir = selectedFilePath.getParent();
-
-        try (Stream<Path> files = Files.list(parentDir)) {
-            List<Path> propertiesFiles = files.filter(
-                            path -> path.getFileName().toString().startsWith("messages_") && path.getFileName().toString().endsWith(".properties"))
-                    .collect(Collectors.toList());
-
-            for (Path path : propertiesFiles) {
-                Properties properties = new Properties();
-                try (InputStream inputStream = Files.newInputStream(path)) {
-                    properties.load(inputStream);
-                    String value = properties.getProperty(key);
-                    if (value != null) {
-                        String language = extractLanguageFromFileName(path.getFileName().toString());
-                        translationsWithPaths.put(language, new String[] { value, path.toString() });
-                    } else {
-                        translationsWithPaths.put(extractLanguageFromFileName(path.getFileName().toString()),
-                                new String[] { "", path.toString() });
-                    }
-                } catch (IOException e) {
-                    logger.log(Level.SEVERE, "Error loading properties file: " + path, e);
-                }
-            }
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "Error loading properties files from directory: " + parentDir, e);
+        BundleIndex bundleIndex = BundleIndex.getInstance();
+        for (LanguageProperties file : bundleIndex.getCurrentFiles(selectedFilePath)) {
+            String value = bundleIndex.getCurrentValue(file, key);
+            value = value != null ? value : "";
+            translationsWithPaths.put(file.getLanguage().getLanguageCode(), new String[] { value, file.getPath().toString() });
         }
         return translationsWithPaths;
     }
 
-    private String extractLanguageFromFileName(String fileName) {
-        int startIndex = fileName.indexOf('_') + 1;
-        int endIndex = fileName.indexOf('.');
-        if (startIndex > 0 && endIndex > startIndex) {
-            return fileName.substring(startIndex, endIndex);
-        }
-        return "unknown";
-    }
 }
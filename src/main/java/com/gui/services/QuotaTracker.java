@@ -0,0 +1,145 @@
+package com.gui.services;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.json.JSONObject;
+
+/**
+ * Keeps track of the DeepL character quota without asking DeepL before every translation.
+ * The usage is fetched once and then refreshed on a schedule, characters sent in between are counted locally.
+ * The estimate is synced again before it is used if the locally counted characters exceed 5% of the limit,
+ * if it says the quota does not suffice, or after DeepL reported the quota as exceeded.
+ */
+public class QuotaTracker {
+
+	private static final Logger logger = Logger.getLogger(QuotaTracker.class.getName());
+	private static final double DRIFT_RATIO = 0.05;
+
+	private static QuotaTracker instance;
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "quota-refresh");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private ScheduledFuture<?> scheduledRefresh;
+
+	private boolean synced;
+	private long characterLimit;
+	private long characterCount;
+	private long countedSinceSync;
+
+	/**
+	 * Gets the singleton instance of the QuotaTracker
+	 *
+	 * @return The QuotaTracker instance
+	 */
+	public static synchronized QuotaTracker getInstance() {
+		if (instance == null) {
+			instance = new QuotaTracker();
+		}
+		return instance;
+	}
+
+	/**
+	 * Fetches the usage in the background now and then every refreshMinutes
+	 *
+	 * @param refreshMinutes The refresh interval, 0 or less fetches only once
+	 */
+	public synchronized void start(long refreshMinutes) {
+		if (scheduledRefresh != null) {
+			scheduledRefresh.cancel(false);
+		}
+		scheduledRefresh = refreshMinutes > 0
+				? scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshMinutes, TimeUnit.MINUTES)
+				: scheduler.schedule(this::refresh, 0, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Fetches the usage in the background, e.g. after DeepL rejected a request because of the quota
+	 */
+	public void refreshLater() {
+		synchronized (this) {
+			synced = false;
+		}
+		scheduler.execute(this::refresh);
+	}
+
+	/**
+	 * Checks whether the remaining characters suffice. Only asks DeepL if the estimate is outdated or too low.
+	 *
+	 * @param characters The characters to be translated
+	 */
+	public boolean isEnoughLeft(long characters) throws IOException {
+		boolean syncNeeded;
+		synchronized (this) {
+			// A short quota is verified before the user is warned
+			syncNeeded = !synced || countedSinceSync > characterLimit * DRIFT_RATIO
+					|| characters > characterLimit - characterCount;
+		}
+		if (syncNeeded) {
+			sync();
+		}
+		synchronized (this) {
+			return characters <= characterLimit - characterCount;
+		}
+	}
+
+	/**
+	 * Counts characters sent to DeepL
+	 */
+	public synchronized void recordUsage(long characters) {
+		characterCount += characters;
+		countedSinceSync += characters;
+	}
+
+	/**
+	 * Whether the usage was fetched at least once and is not known to be wrong
+	 */
+	public synchronized boolean isSynced() {
+		return synced;
+	}
+
+	public synchronized long getCharacterLimit() {
+		return characterLimit;
+	}
+
+	public synchronized long getCharacterCount() {
+		return characterCount;
+	}
+
+	public synchronized long getRemainingCharacters() {
+		return characterLimit - characterCount;
+	}
+
+	/**
+	 * Replaces the estimate with the usage reported by DeepL
+	 */
+	public void sync() throws IOException {
+		JSONObject usage = DeepLService.requestUsage();
+		synchronized (this) {
+			long estimatedCount = characterCount;
+			characterLimit = usage.getLong("character_limit");
+			characterCount = usage.getLong("character_count");
+			if (synced && estimatedCount != characterCount) {
+				logger.fine("DeepL usage differed from the estimate by " + (characterCount - estimatedCount) + " characters");
+			}
+			countedSinceSync = 0;
+			synced = true;
+		}
+	}
+
+	private void refresh() {
+		try {
+			sync();
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.WARNING, "Error fetching the DeepL usage: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.gui.services;
+
+/**
+ * Token bucket limiting the rate of requests.
+ * Tokens are refilled continuously up to the capacity, each request takes one token and waits if there is none.
+ * A pause empties the bucket and blocks all requests, e.g. after the server answered with 429.
+ */
+public class TokenBucket {
+
+	private double tokensPerMilli;
+	private double capacity;
+	private double tokens;
+	private long lastRefill = System.currentTimeMillis();
+	private long pausedUntil;
+
+	/**
+	 * @param requestsPerSecond The sustained rate, 0 or less disables the limit
+	 * @param burst The number of requests allowed at once
+	 */
+	public TokenBucket(double requestsPerSecond, int burst) {
+		setRate(requestsPerSecond, burst);
+		tokens = capacity;
+	}
+
+	/**
+	 * Changes the rate, tokens already in the bucket are kept up to the new capacity
+	 */
+	public synchronized void setRate(double requestsPerSecond, int burst) {
+		refill(System.currentTimeMillis());
+		tokensPerMilli = requestsPerSecond / 1000;
+		capacity = Math.max(burst, 1);
+		tokens = Math.min(tokens, capacity);
+	}
+
+	/**
+	 * Takes a token, waiting until one is available and no pause is active
+	 */
+	public void acquire() throws InterruptedException {
+		while (true) {
+			long waitMillis;
+			synchronized (this) {
+				long now = System.currentTimeMillis();
+				refill(now);
+				if (now >= pausedUntil && tokensPerMilli <= 0) {
+					return;
+				}
+				if (now >= pausedUntil && tokens >= 1) {
+					tokens--;
+					return;
+				}
+				waitMillis = now < pausedUntil ? pausedUntil - now : (long) Math.ceil((1 - tokens) / tokensPerMilli);
+			}
+			Thread.sleep(Math.max(waitMillis, 1));
+		}
+	}
+
+	/**
+	 * Blocks all requests for the given time and empties the bucket, so requests resume at the sustained rate
+	 */
+	public synchronized void pause(long millis) {
+		long now = System.currentTimeMillis();
+		refill(now);
+		pausedUntil = Math.max(pausedUntil, now + millis);
+		// Tokens are only refilled after the pause
+		tokens = 0;
+		lastRefill = pausedUntil;
+	}
+
+	private void refill(long now) {
+		if (now > lastRefill) {
+			tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMilli);
+			lastRefill = now;
+		}
+	}
+}
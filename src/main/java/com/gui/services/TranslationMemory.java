@@ -0,0 +1,328 @@
+package com.gui.services;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent translation memory, consulted before texts are sent to DeepL.
+ * Translations are stored per (normalized source text, source language, target language). Recently used entries
+ * are kept in an LRU cache, all entries are appended to "translation-memory.db". Only the file offsets of the
+ * stored entries are kept in memory, an entry that is not cached is read from the file on demand.
+ */
+public class TranslationMemory {
+
+	private static final Logger logger = Logger.getLogger(TranslationMemory.class.getName());
+	private static final String STORE_FILE = "translation-memory.db";
+
+	private static TranslationMemory instance;
+
+	private final Path storePath;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	private int capacity = 10000;
+	private final LinkedHashMap<String, String> cache = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > capacity;
+		}
+	};
+	// 64 bit hash of the entry key -> offset of the latest record of the entry in the store
+	private final Map<Long, Long> offsets = new HashMap<>();
+	private FileChannel store;
+	private int replacedRecords;
+
+	/**
+	 * Gets the singleton instance of the TranslationMemory, loading the store on first use
+	 *
+	 * @return The TranslationMemory instance
+	 */
+	public static synchronized TranslationMemory getInstance() {
+		if (instance == null) {
+			instance = new TranslationMemory(Paths.get(STORE_FILE));
+			instance.load();
+		}
+		return instance;
+	}
+
+	TranslationMemory(Path storePath) {
+		this.storePath = storePath;
+	}
+
+	/**
+	 * Sets the number of translations kept in memory
+	 */
+	public synchronized void setCapacity(int capacity) {
+		this.capacity = Math.max(capacity, 0);
+		while (cache.size() > this.capacity) {
+			cache.remove(cache.keySet().iterator().next());
+		}
+	}
+
+	/**
+	 * Looks up a translation and counts the hit or miss
+	 *
+	 * @param text           The source text
+	 * @param sourceLanguage The source language code
+	 * @param targetLanguage The target language code
+	 * @return The stored translation, or null if the text was not translated yet
+	 */
+	public String get(String text, String sourceLanguage, String targetLanguage) {
+		String translation = lookup(createKey(text, sourceLanguage, targetLanguage));
+		(translation != null ? hits : misses).incrementAndGet();
+		return translation;
+	}
+
+	/**
+	 * Stores a translation in memory and on disk
+	 *
+	 * @param text           The source text
+	 * @param sourceLanguage The source language code
+	 * @param targetLanguage The target language code
+	 * @param translation    The translated text
+	 */
+	public synchronized void put(String text, String sourceLanguage, String targetLanguage, String translation) {
+		String key = createKey(text, sourceLanguage, targetLanguage);
+		if (translation.equals(lookup(key))) {
+			return;
+		}
+		cache.put(key, translation);
+		try {
+			long offset = append(key, translation);
+			if (offsets.put(hash(key), offset) != null) {
+				replacedRecords++;
+			}
+		} catch (IOException e) {
+			// The translation is still cached for this session
+			logger.log(Level.WARNING, "Error writing the translation memory", e);
+		}
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Closes the store file
+	 */
+	public synchronized void close() {
+		if (store != null) {
+			try {
+				store.close();
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Error closing the translation memory", e);
+			}
+			store = null;
+		}
+	}
+
+	private synchronized String lookup(String key) {
+		String translation = cache.get(key);
+		if (translation != null) {
+			return translation;
+		}
+		Long offset = offsets.get(hash(key));
+		if (offset == null) {
+			return null;
+		}
+		try {
+			String[] record = readRecord(offset);
+			// Different keys may share a hash
+			if (record[0].equals(key)) {
+				cache.put(key, record[1]);
+				return record[1];
+			}
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Error reading the translation memory", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Normalizes a source text to NFC and trims it, so equal texts from files with different encodings
+	 * or surrounding whitespace share an entry
+	 */
+	public static String normalize(String text) {
+		return Normalizer.normalize(text, Normalizer.Form.NFC).trim();
+	}
+
+	private static String createKey(String text, String sourceLanguage, String targetLanguage) {
+		return sourceLanguage.toLowerCase() + '\0' + targetLanguage.toLowerCase() + '\0' + normalize(text);
+	}
+
+	// FNV-1a over the characters of the key
+	private static long hash(String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * Reads the offsets of all records. A record that was cut off by a crash or is corrupt is removed together with
+	 * everything behind it, and the store is compacted if most records were replaced by newer translations.
+	 */
+	synchronized void load() {
+		long offset = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(storePath)))) {
+			long storeSize = Files.size(storePath);
+			while (true) {
+				int length = in.readInt();
+				if (length < 2 * Integer.BYTES || length > storeSize - offset - Integer.BYTES) {
+					throw new IOException("Corrupt translation memory record at " + offset + ": invalid length " + length);
+				}
+				byte[] key = readBytes(in, length);
+				byte[] translation = readBytes(in, length);
+				if (length != 2 * Integer.BYTES + key.length + translation.length) {
+					throw new IOException("Corrupt translation memory record at " + offset + ": length " + length
+							+ " does not match its content");
+				}
+				if (offsets.put(hash(new String(key, StandardCharsets.UTF_8)), offset) != null) {
+					replacedRecords++;
+				}
+				offset += Integer.BYTES + length;
+			}
+		} catch (EOFException e) {
+			// End of the store
+		} catch (NoSuchFileException e) {
+			return;
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.WARNING, "Error reading the translation memory, dropping the records after offset " + offset, e);
+		}
+		logger.info("Loaded translation memory with " + offsets.size() + " translations");
+
+		try {
+			openStore();
+			if (store.size() > offset) {
+				store.truncate(offset);
+			}
+			if (replacedRecords > offsets.size()) {
+				compact();
+			}
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Error preparing the translation memory", e);
+		}
+	}
+
+	/**
+	 * Rewrites the store with the latest record of each entry
+	 */
+	private void compact() throws IOException {
+		Path tempPath = storePath.resolveSibling(storePath.getFileName() + ".tmp");
+		Map<Long, Long> newOffsets = new HashMap<>();
+		long offset = 0;
+		try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempPath))) {
+			for (Map.Entry<Long, Long> entry : offsets.entrySet()) {
+				String[] record = readRecord(entry.getValue());
+				byte[] bytes = encodeRecord(record[0], record[1]);
+				out.write(bytes);
+				newOffsets.put(entry.getKey(), offset);
+				offset += bytes.length;
+			}
+		}
+		close();
+		Files.move(tempPath, storePath, StandardCopyOption.REPLACE_EXISTING);
+		offsets.clear();
+		offsets.putAll(newOffsets);
+		logger.info("Compacted translation memory, removed " + replacedRecords + " replaced translations");
+		replacedRecords = 0;
+		openStore();
+	}
+
+	private void openStore() throws IOException {
+		if (store == null) {
+			store = FileChannel.open(storePath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+	}
+
+	private long append(String key, String translation) throws IOException {
+		openStore();
+		long offset = store.size();
+		ByteBuffer record = ByteBuffer.wrap(encodeRecord(key, translation));
+		while (record.hasRemaining()) {
+			store.write(record, offset + record.position());
+		}
+		return offset;
+	}
+
+	private String[] readRecord(long offset) throws IOException {
+		openStore();
+		ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+		readFully(length, offset);
+		int recordLength = length.flip().getInt();
+		if (recordLength < 2 * Integer.BYTES || recordLength > store.size() - offset - Integer.BYTES) {
+			throw new IOException("Corrupt translation memory record at " + offset + ": invalid length " + recordLength);
+		}
+		ByteBuffer record = ByteBuffer.allocate(recordLength);
+		readFully(record, offset + Integer.BYTES);
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.array()))) {
+			return new String[] { new String(readBytes(in, recordLength), StandardCharsets.UTF_8),
+					new String(readBytes(in, recordLength), StandardCharsets.UTF_8) };
+		}
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (store.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException("Translation memory record at " + position + " is incomplete");
+			}
+		}
+	}
+
+	// Record layout: length of the rest, then key and translation as length-prefixed UTF-8
+	private static byte[] encodeRecord(String key, String translation) throws IOException {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		byte[] translationBytes = translation.getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(2 * Integer.BYTES + keyBytes.length + translationBytes.length);
+			out.writeInt(keyBytes.length);
+			out.write(keyBytes);
+			out.writeInt(translationBytes.length);
+			out.write(translationBytes);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Reads a length-prefixed byte string of a record
+	 *
+	 * @param recordLength The length of the record, no string inside it can be longer
+	 */
+	private static byte[] readBytes(DataInputStream in, int recordLength) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > recordLength) {
+			throw new IOException("Corrupt translation memory record: invalid string length " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,239 @@
+package com.gui.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.gui.contsants.SettingsConstant;
+
+/**
+ * Runs DeepL translation requests in parallel.
+ * The texts of a language pair are split into requests (see {@link DeepLService#splitIntoRequests(List)}), which run on
+ * a pool of "translation.threads" threads. A token bucket keeps the request rate at "translation.rate.limit" per second.
+ * Rate limiting (429) and server errors are retried with exponential backoff and jitter, a 429 pauses all requests.
+ */
+public class TranslationScheduler {
+
+	private static final Logger logger = Logger.getLogger(TranslationScheduler.class.getName());
+	private static final long INITIAL_BACKOFF_MILLIS = 500;
+	private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+	private static TranslationScheduler instance;
+
+	private final AtomicInteger threadNumber = new AtomicInteger();
+	private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(4, runnable -> {
+		Thread thread = new Thread(runnable, "translation-" + threadNumber.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final TokenBucket tokenBucket = new TokenBucket(5, 5);
+	private volatile int maxRetries = 5;
+
+	/**
+	 * Receives the result of each text, called on a translation thread, or on the calling thread for texts
+	 * from the translation memory
+	 */
+	public interface Listener {
+
+		/**
+		 * @param index The index of the text in the translated list
+		 * @param translation The translated text
+		 */
+		void translated(int index, String translation);
+
+		/**
+		 * @param index The index of the text in the translated list
+		 * @param error The error of the request that contained the text
+		 */
+		void failed(int index, Exception error);
+	}
+
+	/**
+	 * Gets the singleton instance of the TranslationScheduler
+	 *
+	 * @return The TranslationScheduler instance
+	 */
+	public static synchronized TranslationScheduler getInstance() {
+		if (instance == null) {
+			instance = new TranslationScheduler();
+		}
+		return instance;
+	}
+
+	private TranslationScheduler() {
+		executor.setKeepAliveTime(30, TimeUnit.SECONDS);
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Applies concurrency, rate limit and retries from the settings
+	 */
+	public void configure(Properties settings) {
+		int threads = parseSetting(settings, SettingsConstant.TRANSLATION_THREADS);
+		executor.setCorePoolSize(Math.max(threads, 1));
+
+		int rateLimit = parseSetting(settings, SettingsConstant.TRANSLATION_RATE_LIMIT);
+		tokenBucket.setRate(rateLimit, Math.max(threads, 1));
+
+		maxRetries = Math.max(parseSetting(settings, SettingsConstant.TRANSLATION_MAX_RETRIES), 0);
+	}
+
+	/**
+	 * Translates texts of one language pair. Equal texts are sent once, texts from the {@link TranslationMemory} are
+	 * reported right away, the other requests run in parallel and each text is reported to the listener as soon as its
+	 * request finished.
+	 *
+	 * @param texts          The texts to be translated, must not be empty strings.
+	 * @param sourceLanguage The source language code.
+	 * @param targetLanguage The target language code.
+	 * @param listener       Receives the translation or the error of each text
+	 * @return Completes when all texts were reported
+	 */
+	public CompletableFuture<Void> translate(List<String> texts, String sourceLanguage, String targetLanguage, Listener listener) {
+		// Equal texts are translated once, their result is reported for every index
+		Map<String, List<Integer>> indexesByText = new LinkedHashMap<>();
+		for (int i = 0; i < texts.size(); i++) {
+			indexesByText.computeIfAbsent(TranslationMemory.normalize(texts.get(i)), k -> new ArrayList<>()).add(i);
+		}
+
+		// Texts that were translated before are reported right away
+		TranslationMemory translationMemory = TranslationMemory.getInstance();
+		List<String> missingTexts = new ArrayList<>();
+		List<List<Integer>> missingIndexes = new ArrayList<>();
+		for (Map.Entry<String, List<Integer>> entry : indexesByText.entrySet()) {
+			String text = texts.get(entry.getValue().get(0));
+			String translation = translationMemory.get(text, sourceLanguage, targetLanguage);
+			if (translation != null) {
+				entry.getValue().forEach(index -> listener.translated(index, translation));
+			} else {
+				missingTexts.add(text);
+				missingIndexes.add(entry.getValue());
+			}
+		}
+		if (missingTexts.size() < texts.size()) {
+			logger.fine(() -> "Sending " + missingTexts.size() + " of " + texts.size() + " texts to DeepL, "
+					+ (texts.size() - indexesByText.size()) + " duplicates");
+		}
+
+		// Maps the indexes of the sent texts back to the given list
+		Listener mappedListener = new Listener() {
+			@Override
+			public void translated(int index, String translation) {
+				missingIndexes.get(index).forEach(i -> listener.translated(i, translation));
+			}
+
+			@Override
+			public void failed(int index, Exception error) {
+				missingIndexes.get(index).forEach(i -> listener.failed(i, error));
+			}
+		};
+
+		List<CompletableFuture<Void>> requests = new ArrayList<>();
+		int offset = 0;
+		for (List<String> request : DeepLService.splitIntoRequests(missingTexts)) {
+			CompletableFuture<Void> future = new CompletableFuture<>();
+			int firstIndex = offset;
+			executor.execute(() -> runRequest(request, firstIndex, sourceLanguage, targetLanguage, mappedListener, 0, future));
+			requests.add(future);
+			offset += request.size();
+		}
+		return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]));
+	}
+
+	private void runRequest(List<String> texts, int firstIndex, String sourceLanguage, String targetLanguage,
+			Listener listener, int attempt, CompletableFuture<Void> future) {
+		List<String> translations;
+		try {
+			tokenBucket.acquire();
+			translations = DeepLService.translateRequest(texts, sourceLanguage, targetLanguage);
+		} catch (DeepLException e) {
+			if (e.isRetryable() && attempt < maxRetries) {
+				long delay = e.getRetryAfterMillis() >= 0 ? e.getRetryAfterMillis() : backoff(attempt);
+				if (e.getStatusCode() == DeepLException.TOO_MANY_REQUESTS) {
+					// All threads hit the same limit, so everyone waits
+					tokenBucket.pause(delay);
+				}
+				retry(texts, firstIndex, sourceLanguage, targetLanguage, listener, attempt, future, delay, e);
+				return;
+			}
+			fail(texts.size(), firstIndex, listener, future, e);
+			return;
+		} catch (IOException e) {
+			// Connection problems are usually temporary
+			if (attempt < maxRetries) {
+				retry(texts, firstIndex, sourceLanguage, targetLanguage, listener, attempt, future, backoff(attempt), e);
+				return;
+			}
+			fail(texts.size(), firstIndex, listener, future, e);
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fail(texts.size(), firstIndex, listener, future, e);
+			return;
+		} catch (RuntimeException e) {
+			fail(texts.size(), firstIndex, listener, future, e);
+			return;
+		}
+
+		// Outside of the request handling, so a failing listener does not report translated texts as failed
+		int reported = 0;
+		try {
+			for (; reported < translations.size(); reported++) {
+				listener.translated(firstIndex + reported, translations.get(reported));
+			}
+		} catch (RuntimeException e) {
+			// The text the listener failed on was already handed to it, only the ones after it are failed
+			fail(translations.size() - reported - 1, firstIndex + reported + 1, listener, future, e);
+			return;
+		}
+		future.complete(null);
+	}
+
+	private void retry(List<String> texts, int firstIndex, String sourceLanguage, String targetLanguage,
+			Listener listener, int attempt, CompletableFuture<Void> future, long delay, Exception error) {
+		logger.log(Level.INFO, "Retrying translation of " + texts.size() + " texts in " + delay + " ms (attempt "
+				+ (attempt + 1) + " of " + maxRetries + "): " + error.getMessage());
+		// The thread is free for other requests in the meantime
+		executor.schedule(() -> runRequest(texts, firstIndex, sourceLanguage, targetLanguage, listener, attempt + 1, future),
+				delay, TimeUnit.MILLISECONDS);
+	}
+
+	private static void fail(int count, int firstIndex, Listener listener, CompletableFuture<Void> future, Exception error) {
+		logger.log(Level.WARNING, "Translation of " + count + " texts failed", error);
+		try {
+			for (int i = 0; i < count; i++) {
+				listener.failed(firstIndex + i, error);
+			}
+		} finally {
+			future.complete(null);
+		}
+	}
+
+	/**
+	 * Exponential backoff with jitter: a random delay between half and all of 500 ms * 2^attempt, at most 30 s
+	 */
+	private static long backoff(int attempt) {
+		long delay = Math.min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << Math.min(attempt, 16));
+		return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+	}
+
+	private static int parseSetting(Properties settings, SettingsConstant setting) {
+		String value = SettingsConstant.getSettingValue(settings, setting);
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			logger.warning("Invalid value for " + setting.getKey() + ": " + value);
+			return Integer.parseInt(setting.getDefaultValue());
+		}
+	}
+}
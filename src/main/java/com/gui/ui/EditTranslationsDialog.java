@@ -8,6 +8,7 @@ import com.gui.services.LocaleEncodingService;
 import javax.swing.*;
 import javax.swing.event.TableModelEvent;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -17,11 +18,11 @@ import java.util.Map;
 public class EditTranslationsDialog {
 
 	private final JTable table;
-	private final DefaultTableModel tableModel;
+	private final TableModel tableModel;
 	private DefaultTableModel editDialogTableModel;
 	private JTable editDialogTable;
 
-	public EditTranslationsDialog(JTable table, DefaultTableModel tableModel) {
+	public EditTranslationsDialog(JTable table, TableModel tableModel) {
 		this.table = table;
 		this.tableModel = tableModel;
 	}
@@ -74,7 +75,7 @@ public class EditTranslationsDialog {
 		JScrollPane scrollPane = UIComponentFactory.createScrollPane(editDialogTable);
 		dialog.add(scrollPane, BorderLayout.CENTER);
 
-		TableManager tableManager = new TableManager();
+		TableManager tableManager = new TableManager(tableModel);
 		tableManager.registerTableModelListenerForEditValue(editDialogTableModel, editDialogTable);
 
 		// Verwende die Factory, um den Button zu erstellen
@@ -0,0 +1,147 @@
+package com.gui.ui;
+
+import com.gui.contsants.LanguagesConstant;
+import com.gui.core.KeyCompleteness;
+import com.gui.model.CompletenessFinding;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableRowSorter;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Shows the keys that are missing in, or only present in, some languages of their bundle family.
+ * The findings can be filtered by type, language and text.
+ */
+public class KeyCompletenessDialog {
+
+	private static final String[] COLUMN_NAMES = {"Type", "Language", "Key", "File Path", "Line"};
+
+	public static void show(JFrame parent, List<CompletenessFinding> findings, KeyCompleteness completeness) {
+		JDialog dialog = new JDialog(parent, "Missing Keys: "
+				+ completeness.getCount(CompletenessFinding.Type.MISSING) + " missing, "
+				+ completeness.getCount(CompletenessFinding.Type.EXTRA) + " extra, "
+				+ completeness.getCount(CompletenessFinding.Type.ORPHANED) + " orphaned"
+				+ (completeness.isTruncated() ? " (showing " + findings.size() + ")" : ""), false);
+		dialog.setLayout(new BorderLayout());
+
+		JTable table = UIComponentFactory.createTable(new FindingsTableModel(findings));
+		TableRowSorter<FindingsTableModel> sorter = new TableRowSorter<>((FindingsTableModel) table.getModel());
+		table.setRowSorter(sorter);
+		dialog.add(UIComponentFactory.createScrollPane(table), BorderLayout.CENTER);
+
+		// Filter nach Typ, Sprache und Text
+		String[] typeFilterArray = new String[CompletenessFinding.Type.values().length + 1];
+		typeFilterArray[0] = "";
+		int i = 1;
+		for (CompletenessFinding.Type type : CompletenessFinding.Type.values()) {
+			typeFilterArray[i++] = type.getLabel();
+		}
+		String[] languageFilterArray = new String[LanguagesConstant.values().length + 1];
+		languageFilterArray[0] = "";
+		i = 1;
+		for (String language : Arrays.stream(LanguagesConstant.values()).map(LanguagesConstant::getLanguageCode).toArray(String[]::new)) {
+			languageFilterArray[i++] = language;
+		}
+		JComboBox<String> typeComboBox = UIComponentFactory.createComboBox(typeFilterArray);
+		JComboBox<String> languageComboBox = UIComponentFactory.createComboBox(languageFilterArray);
+		JTextField filterField = UIComponentFactory.createTextField("");
+		JButton filterButton = UIComponentFactory.createButton("Filter");
+		filterButton.addActionListener(e -> applyFilter(sorter, (String) typeComboBox.getSelectedItem(),
+				(String) languageComboBox.getSelectedItem(), filterField.getText()));
+
+		JPanel northPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		northPanel.add(UIComponentFactory.createLabel("Type: "));
+		northPanel.add(typeComboBox);
+		northPanel.add(UIComponentFactory.createLabel("Language: "));
+		northPanel.add(languageComboBox);
+		northPanel.add(filterField);
+		northPanel.add(filterButton);
+		dialog.add(northPanel, BorderLayout.NORTH);
+
+		dialog.setSize(1000, 500);
+		dialog.setLocationRelativeTo(parent);
+		dialog.setVisible(true);
+	}
+
+	private static void applyFilter(TableRowSorter<FindingsTableModel> sorter, String type, String language, String text) {
+		String search = text.trim().toLowerCase(Locale.ROOT);
+		boolean anyType = type == null || type.isEmpty();
+		boolean anyLanguage = language == null || language.isEmpty();
+		if (anyType && anyLanguage && search.isEmpty()) {
+			sorter.setRowFilter(null);
+			return;
+		}
+		sorter.setRowFilter(new RowFilter<FindingsTableModel, Integer>() {
+			@Override
+			public boolean include(Entry<? extends FindingsTableModel, ? extends Integer> entry) {
+				CompletenessFinding finding = entry.getModel().getFinding(entry.getIdentifier());
+				if (!anyType && !finding.getType().getLabel().equals(type)) {
+					return false;
+				}
+				if (!anyLanguage && !finding.getLanguage().getLanguageCode().equals(language)) {
+					return false;
+				}
+				return search.isEmpty()
+						|| finding.getKey().toLowerCase(Locale.ROOT).contains(search)
+						|| finding.getPath().toLowerCase(Locale.ROOT).contains(search);
+			}
+		});
+	}
+
+	private static class FindingsTableModel extends AbstractTableModel {
+		private static final long serialVersionUID = 1L;
+
+		private final List<CompletenessFinding> findings;
+
+		FindingsTableModel(List<CompletenessFinding> findings) {
+			this.findings = findings;
+		}
+
+		CompletenessFinding getFinding(int row) {
+			return findings.get(row);
+		}
+
+		@Override
+		public int getRowCount() {
+			return findings.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return COLUMN_NAMES.length;
+		}
+
+		@Override
+		public String getColumnName(int column) {
+			return COLUMN_NAMES[column];
+		}
+
+		@Override
+		public Class<?> getColumnClass(int column) {
+			return column == 4 ? Integer.class : String.class;
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			CompletenessFinding finding = findings.get(row);
+			switch (column) {
+			case 0:
+				return finding.getType().getLabel();
+			case 1:
+				return finding.getLanguage().getLanguageCode();
+			case 2:
+				return finding.getKey();
+			case 3:
+				return finding.getPath();
+			case 4:
+				return finding.getLineNumber();
+			default:
+				throw new IndexOutOfBoundsException("Invalid column: " + column);
+			}
+		}
+	}
+}
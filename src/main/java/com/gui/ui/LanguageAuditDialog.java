@@ -0,0 +1,157 @@
+package com.gui.ui;
+
+import com.gui.contsants.LanguagesConstant;
+import com.gui.core.LanguageAudit;
+import com.gui.model.AuditFinding;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableRowSorter;
+import java.awt.*;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shows the values of the language audit whose detected language differs from the language of their file.
+ * The findings can be filtered by language and text and exported as CSV.
+ */
+public class LanguageAuditDialog {
+
+	private static final Logger logger = Logger.getLogger(LanguageAuditDialog.class.getName());
+	private static final String[] COLUMN_NAMES = {"Language", "Detected", "Key", "Value", "File Path", "Line"};
+
+	public static void show(JFrame parent, List<AuditFinding> findings, boolean truncated) {
+		JDialog dialog = new JDialog(parent, "Language Audit: " + findings.size() + " findings"
+				+ (truncated ? " (truncated)" : ""), false);
+		dialog.setLayout(new BorderLayout());
+
+		JTable table = UIComponentFactory.createTable(new FindingsTableModel(findings));
+		TableRowSorter<FindingsTableModel> sorter = new TableRowSorter<>((FindingsTableModel) table.getModel());
+		table.setRowSorter(sorter);
+		dialog.add(UIComponentFactory.createScrollPane(table), BorderLayout.CENTER);
+
+		// Filter nach Sprache und Text
+		String[] languageFilterArray = new String[LanguagesConstant.values().length + 1];
+		languageFilterArray[0] = "";
+		int i = 1;
+		for (String language : Arrays.stream(LanguagesConstant.values()).map(LanguagesConstant::getLanguageCode).toArray(String[]::new)) {
+			languageFilterArray[i++] = language;
+		}
+		JComboBox<String> languageComboBox = UIComponentFactory.createComboBox(languageFilterArray);
+		JTextField filterField = UIComponentFactory.createTextField("");
+		JButton filterButton = UIComponentFactory.createButton("Filter");
+		filterButton.addActionListener(e -> applyFilter(sorter, (String) languageComboBox.getSelectedItem(), filterField.getText()));
+
+		JPanel northPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		northPanel.add(UIComponentFactory.createLabel("Language: "));
+		northPanel.add(languageComboBox);
+		northPanel.add(filterField);
+		northPanel.add(filterButton);
+		dialog.add(northPanel, BorderLayout.NORTH);
+
+		JButton exportButton = UIComponentFactory.createButton("Export");
+		exportButton.addActionListener(e -> export(dialog, findings));
+		JPanel southPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+		southPanel.add(exportButton);
+		dialog.add(southPanel, BorderLayout.SOUTH);
+
+		dialog.setSize(1000, 500);
+		dialog.setLocationRelativeTo(parent);
+		dialog.setVisible(true);
+	}
+
+	private static void applyFilter(TableRowSorter<FindingsTableModel> sorter, String language, String text) {
+		String search = text.trim().toLowerCase(Locale.ROOT);
+		if ((language == null || language.isEmpty()) && search.isEmpty()) {
+			sorter.setRowFilter(null);
+			return;
+		}
+		sorter.setRowFilter(new RowFilter<FindingsTableModel, Integer>() {
+			@Override
+			public boolean include(Entry<? extends FindingsTableModel, ? extends Integer> entry) {
+				AuditFinding finding = entry.getModel().getFinding(entry.getIdentifier());
+				if (language != null && !language.isEmpty() && !finding.getLanguage().getLanguageCode().equals(language)) {
+					return false;
+				}
+				return search.isEmpty()
+						|| finding.getKey().toLowerCase(Locale.ROOT).contains(search)
+						|| finding.getValue().toLowerCase(Locale.ROOT).contains(search)
+						|| finding.getPath().toLowerCase(Locale.ROOT).contains(search);
+			}
+		});
+	}
+
+	private static void export(JDialog dialog, List<AuditFinding> findings) {
+		JFileChooser fileChooser = new JFileChooser();
+		fileChooser.setSelectedFile(new java.io.File("language-audit.csv"));
+		if (fileChooser.showSaveDialog(dialog) != JFileChooser.APPROVE_OPTION) {
+			return;
+		}
+		try {
+			LanguageAudit.writeReport(findings, fileChooser.getSelectedFile().toPath());
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Error writing the language audit report", e);
+			JOptionPane.showMessageDialog(dialog, "Error writing the report: " + e.getMessage(), "Export",
+					JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	private static class FindingsTableModel extends AbstractTableModel {
+		private static final long serialVersionUID = 1L;
+
+		private final List<AuditFinding> findings;
+
+		FindingsTableModel(List<AuditFinding> findings) {
+			this.findings = findings;
+		}
+
+		AuditFinding getFinding(int row) {
+			return findings.get(row);
+		}
+
+		@Override
+		public int getRowCount() {
+			return findings.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return COLUMN_NAMES.length;
+		}
+
+		@Override
+		public String getColumnName(int column) {
+			return COLUMN_NAMES[column];
+		}
+
+		@Override
+		public Class<?> getColumnClass(int column) {
+			return column == 5 ? Integer.class : String.class;
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			AuditFinding finding = findings.get(row);
+			switch (column) {
+			case 0:
+				return finding.getLanguage().getLanguageCode();
+			case 1:
+				return finding.getDetectedLanguage();
+			case 2:
+				return finding.getKey();
+			case 3:
+				return finding.getValue();
+			case 4:
+				return finding.getPath();
+			case 5:
+				return finding.getLineNumber();
+			default:
+				throw new IndexOutOfBoundsException("Invalid column: " + column);
+			}
+		}
+	}
+}
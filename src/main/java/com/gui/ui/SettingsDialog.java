@@ -1,6 +1,7 @@
 package com.gui.ui;
 
 import com.gui.contsants.SettingsConstant;
+import com.gui.manager.LoggingManager;
 import com.gui.manager.SettingsManager;
 
 import javax.swing.*;
@@ -28,6 +29,8 @@ public class SettingsDialog {
 	private JTextField apiKeyField;
 	private JCheckBox searchUnsetOnlyCheckbox;
 	private JCheckBox convertFilesCheckbox;
+	private JCheckBox watchModeCheckbox;
+	private JComboBox<String> logLevelComboBox;
 
 	public boolean isLanguageDetectionCheckboxSelected() {
 		return languageDetectionCheckbox.isSelected();
@@ -37,9 +40,17 @@ public class SettingsDialog {
 		return convertFilesCheckbox.isSelected();
 	}
 
+	public boolean isWatchModeCheckboxSelected() {
+		return watchModeCheckbox.isSelected();
+	}
+
+	public String getLogLevel() {
+		return (String) logLevelComboBox.getSelectedItem();
+	}
+
 	public void show(JFrame parent, Properties settings) {
 		JDialog settingsDialog = new JDialog(parent, "Settings", true);
-		settingsDialog.setLayout(new GridLayout(6, 2));
+		settingsDialog.setLayout(new GridLayout(8, 2));
 
 		// Labels und Textfelder mit der UIComponentFactory erstellen
 		JLabel basePathLabel = UIComponentFactory.createLabel("Base Path:");
@@ -70,6 +81,17 @@ public class SettingsDialog {
 		settingsDialog.add(UIComponentFactory.createLabel("Detect Source Translation Language:"));
 		settingsDialog.add(languageDetectionCheckbox);
 
+		watchModeCheckbox = UIComponentFactory.createCheckBox("Watch Files",
+				Boolean.parseBoolean(SettingsConstant.getSettingValue(settings, SettingsConstant.WATCH_MODE)));
+		settingsDialog.add(UIComponentFactory.createLabel("Apply file changes live:"));
+		settingsDialog.add(watchModeCheckbox);
+
+		logLevelComboBox = UIComponentFactory.createComboBox(LoggingManager.getLevelNames());
+		logLevelComboBox.setSelectedItem(
+				SettingsConstant.getSettingValue(settings, SettingsConstant.LOG_LEVEL).trim().toUpperCase());
+		settingsDialog.add(UIComponentFactory.createLabel("Log Level:"));
+		settingsDialog.add(logLevelComboBox);
+
 		// Buttons und Panel für die Schaltflächen mit der UIComponentFactory erstellen
 		JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
 
@@ -3,7 +3,7 @@ package com.gui.ui;
 import com.gui.contsants.DesignColorsConstant;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 
@@ -39,7 +39,7 @@ public class UIComponentFactory {
 	}
 
 	// Methode zum Erstellen einer Tabelle mit Design
-	public static JTable createTable(DefaultTableModel model) {
+	public static JTable createTable(TableModel model) {
 		JTable table = new JTable(model);
 		table.setShowGrid(true);
 		table.setGridColor(DesignColorsConstant.GRID_COLOR.getColor());
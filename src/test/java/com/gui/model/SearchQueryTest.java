@@ -0,0 +1,62 @@
+package com.gui.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.gui.contsants.LanguagesConstant;
+
+class SearchQueryTest {
+
+	private static final String[] VALUES = { "Abc", "abc", "ABC def", "caf\u00e9s", "Caf\u00e9s", "\u0001xyz", "\u0001XYZ", "ab ab xyz",
+			"abxyz", "\u00e9t\u00e9", "Abcxyz", "Abc2", "nothing", "A1bc" };
+
+	@Test
+	void regexSearchMatchesFullScan() {
+		TranslationTableModel model = createModel();
+		String[] patterns = { "\\x41bc", "\\x{41}bc", "caf\\u00e9s", "\\0101bc", "\\cAxyz", "(?<n>ab) \\k<n> xyz",
+				"\\p{Lu}bc", "\\p{L}bc", "\\N{LATIN SMALL LETTER E WITH ACUTE}t\\u00e9", "(ab)\\1xyz", "\\d", "abc|\\x58YZ",
+				"[\\x41]bc", "A\\d+bc", "Abc\\d" };
+		for (String pattern : patterns) {
+			for (boolean matchCase : new boolean[] { false, true }) {
+				SearchQuery query = new SearchQuery(SearchQuery.Mode.REGEX, pattern, matchCase);
+				assertEquals(fullScan(model, query), model.search(query), pattern + (matchCase ? " (match case)" : ""));
+			}
+		}
+	}
+
+	@Test
+	void escapesAreNotTakenAsLiterals() {
+		assertEquals(List.of(List.of("bc")), new SearchQuery(SearchQuery.Mode.REGEX, "\\x41bc", true).getRequiredLiterals());
+		assertEquals(List.of(List.of("caf", "s")),
+				new SearchQuery(SearchQuery.Mode.REGEX, "caf\\u00e9s", true).getRequiredLiterals());
+		assertEquals(List.of(List.of("bc")), new SearchQuery(SearchQuery.Mode.REGEX, "\\0101bc", true).getRequiredLiterals());
+		assertEquals(List.of(List.of("xyz")), new SearchQuery(SearchQuery.Mode.REGEX, "\\cAxyz", true).getRequiredLiterals());
+		assertEquals(List.of(List.of("xyz")),
+				new SearchQuery(SearchQuery.Mode.REGEX, "(?<n>ab)\\k<n>xyz", true).getRequiredLiterals());
+	}
+
+	private static TranslationTableModel createModel() {
+		TranslationTableModel.Rows rows = new TranslationTableModel.Rows();
+		for (int i = 0; i < VALUES.length; i++) {
+			rows.add(LanguagesConstant.GERMAN, "key" + i, VALUES[i], "mod/messages_de.properties");
+		}
+		TranslationTableModel model = new TranslationTableModel();
+		model.appendRows(List.of(rows));
+		return model;
+	}
+
+	private static BitSet fullScan(TranslationTableModel model, SearchQuery query) {
+		BitSet result = new BitSet();
+		for (int row = 0; row < model.getRowCount(); row++) {
+			if (query.matches(model.getKey(row)) || query.matches(model.getValue(row))
+					|| query.matches(model.getFilePath(row))) {
+				result.set(row);
+			}
+		}
+		return result;
+	}
+}